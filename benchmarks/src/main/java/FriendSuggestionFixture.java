@@ -0,0 +1,92 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import benchmarks.FriendSuggestionBenchmark;
+
+// Random friendships, groups and tags in the in-memory backend, ranked through DatabaseHandler
+public class FriendSuggestionFixture implements FriendSuggestionBenchmark.Fixture {
+
+    private static final int STUDENTS = 5000;
+    private static final int OTHERS_SIZE = 1024;
+    private static final int GROUPS = 5;
+    private static final int GROUP_MEMBERS = 40;
+    private static final int TAGS = 5;
+    private static final int TAG_HOLDERS = 400;
+    private static final int LIMIT = 10;
+
+    private DatabaseHandler dbHandler;
+    private int studentId;
+    private int[] others;
+    private int next;
+
+    @Override
+    public void setUp(int friends) {
+        Log.setLevel(Log.Level.WARN);
+        InMemoryDatabase database = new InMemoryDatabase("StudentDB");
+        database.connect();
+        dbHandler = new DatabaseHandler(database);
+
+        List<Student> students = new ArrayList<>();
+        List<String> passwords = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new Student(0, "student" + i + "@ilstu.edu", "student" + i, "Junior", null, null, null));
+            passwords.add("password" + i);
+        }
+        dbHandler.addStudents(students, passwords);
+        int[] ids = new int[STUDENTS];
+        for (int i = 0; i < STUDENTS; i++) {
+            ids[i] = dbHandler.getStudentByUsername("student" + i + "@ilstu.edu").getID();
+        }
+        studentId = ids[0];
+
+        // Written to the backend directly; the friend graph is built from it on first use.
+        // Each student befriends friends / 2 others, so degrees average out at about friends.
+        Random random = new Random(42);
+        for (int i = 0; i < STUDENTS; i++) {
+            for (int j = 0; j < (i == 0 ? friends : friends / 2); j++) {
+                befriend(database, ids[i], ids[1 + random.nextInt(STUDENTS - 1)]);
+            }
+        }
+        for (int g = 0; g < GROUPS; g++) {
+            Group group = new Group(0, "Benchmark group " + g, "suggestion benchmark");
+            database.addGroup(group);
+            database.joinGroup(studentId, group.getID());
+            for (int i = 0; i < GROUP_MEMBERS; i++) {
+                database.joinGroup(ids[1 + random.nextInt(STUDENTS - 1)], group.getID());
+            }
+        }
+        for (int t = 0; t < TAGS; t++) {
+            Tag tag = new Tag("benchmark" + t, "suggestion benchmark");
+            database.addTag(tag);
+            database.addTagToStudent(studentId, tag.getID());
+            for (int i = 0; i < TAG_HOLDERS; i++) {
+                database.addTagToStudent(ids[1 + random.nextInt(STUDENTS - 1)], tag.getID());
+            }
+        }
+        dbHandler.getFriendCount(studentId);
+
+        others = new int[OTHERS_SIZE];
+        for (int i = 0; i < OTHERS_SIZE; i++) {
+            others[i] = ids[1 + random.nextInt(STUDENTS - 1)];
+        }
+    }
+
+    private static void befriend(InMemoryDatabase database, int a, int b) {
+        if (a != b && database.sendFriendRequest(a, b)) {
+            database.acceptFriendRequest(a, b);
+        }
+    }
+
+    @Override
+    public List<?> suggestions() {
+        return dbHandler.suggestFriends(studentId, LIMIT);
+    }
+
+    @Override
+    public int[] mutualFriends() {
+        int otherId = others[next];
+        next = (next + 1) & (OTHERS_SIZE - 1);
+        return dbHandler.getFriendGraph().getMutualFriendIds(studentId, otherId);
+    }
+}
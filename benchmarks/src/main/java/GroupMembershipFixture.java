@@ -0,0 +1,96 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import benchmarks.GroupMembershipBenchmark;
+
+// A group with a given number of members, both as a loaded Group and in the in-memory backend
+public class GroupMembershipFixture implements GroupMembershipBenchmark.Fixture {
+
+    private static final int LOOKUP_ORDER_SIZE = 1024;
+
+    private Group group;
+    private DatabaseHandler dbHandler;
+    private int groupId;
+    private int outsiderId;
+    private Student[] lookupOrder;
+    private int next;
+
+    @Override
+    public void setUp(int members) {
+        Log.setLevel(Log.Level.WARN);
+        InMemoryDatabase database = new InMemoryDatabase("StudentDB");
+        database.connect();
+        dbHandler = new DatabaseHandler(database);
+
+        Group row = new Group(0, "Benchmark group", "membership benchmark");
+        dbHandler.addGroup(row);
+        groupId = row.getID();
+
+        group = new Group(groupId, row.getName(), row.getDescription());
+        List<Student> students = new ArrayList<>();
+        List<String> passwords = new ArrayList<>();
+        for (int i = 0; i <= members; i++) {
+            students.add(new Student(0, "member" + i + "@ilstu.edu", "member" + i, "Junior", null, null, null));
+            passwords.add("password" + i);
+        }
+        dbHandler.addStudents(students, passwords);
+
+        List<Student> stored = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            Student student = dbHandler.getStudentByUsername("member" + i + "@ilstu.edu");
+            dbHandler.addMemberToGroup(groupId, student.getID());
+            group.addMember(student);
+            stored.add(student);
+        }
+        // One registered student stays outside the group, for joinAndLeave
+        outsiderId = dbHandler.getStudentByUsername("member" + members + "@ilstu.edu").getID();
+
+        // Every fourth member has left, so active-member checks see both states
+        for (int i = 0; i < members; i += 4) {
+            group.removeMember(stored.get(i));
+        }
+
+        Random random = new Random(42);
+        lookupOrder = new Student[LOOKUP_ORDER_SIZE];
+        for (int i = 0; i < LOOKUP_ORDER_SIZE; i++) {
+            lookupOrder[i] = stored.get(random.nextInt(members));
+        }
+    }
+
+    private Student nextMember() {
+        Student student = lookupOrder[next];
+        next = (next + 1) & (LOOKUP_ORDER_SIZE - 1);
+        return student;
+    }
+
+    @Override
+    public boolean isMember() {
+        return group.isMember(nextMember());
+    }
+
+    @Override
+    public boolean isMemberActive() {
+        return group.isMemberActive(nextMember());
+    }
+
+    @Override
+    public Object memberJoinDate() {
+        return group.getMemberJoinDate(nextMember());
+    }
+
+    @Override
+    public int activeMemberCount() {
+        return group.getActiveMembers().size();
+    }
+
+    @Override
+    public boolean isStudentInGroup() {
+        return dbHandler.isStudentInGroup(nextMember().getID(), groupId);
+    }
+
+    @Override
+    public boolean joinAndLeave() {
+        return dbHandler.joinGroup(outsiderId, groupId) & dbHandler.leaveGroup(outsiderId, groupId);
+    }
+}
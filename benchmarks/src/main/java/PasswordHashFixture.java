@@ -0,0 +1,34 @@
+import benchmarks.PasswordHashBenchmark;
+
+// Database.hashPassword, and a login that uses it, on the in-memory backend
+public class PasswordHashFixture implements PasswordHashBenchmark.Fixture {
+
+    private static final String USERNAME = "benchmark@ilstu.edu";
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private DatabaseHandler dbHandler;
+
+    @Override
+    public void setUp() {
+        Log.setLevel(Log.Level.WARN);
+        InMemoryDatabase database = new InMemoryDatabase("StudentDB");
+        database.connect();
+        dbHandler = new DatabaseHandler(database);
+        dbHandler.addStudent(new Student(0, USERNAME, USERNAME, "Senior", null, null, null), PASSWORD);
+    }
+
+    @Override
+    public String hashPassword() {
+        return Database.hashPassword(PASSWORD);
+    }
+
+    @Override
+    public Object authenticate() {
+        return dbHandler.authenticateStudent(USERNAME, PASSWORD);
+    }
+
+    @Override
+    public Object authenticateWrongPassword() {
+        return dbHandler.authenticateStudent(USERNAME, "wrong password");
+    }
+}
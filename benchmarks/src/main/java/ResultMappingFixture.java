@@ -0,0 +1,69 @@
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+
+import benchmarks.ResultMappingBenchmark;
+
+// Feeds MySQLHandler's row mappers from in-memory result sets shaped like the real queries
+public class ResultMappingFixture implements ResultMappingBenchmark.Fixture {
+
+    private final MySQLHandler handler = new MySQLHandler("StudentDB");
+    private CachedRowSet students;
+    private CachedRowSet posts;
+
+    @Override
+    public void setUp(int rows) throws SQLException {
+        Log.setLevel(Log.Level.WARN);
+        students = rowSet(new String[] { "userID", "userName", "userYear" },
+                new int[] { Types.INTEGER, Types.VARCHAR, Types.VARCHAR });
+        posts = rowSet(new String[] { "postID", "postContent", "ownerID", "userName", "userYear", "isAnonymous" },
+                new int[] { Types.INTEGER, Types.VARCHAR, Types.INTEGER, Types.VARCHAR, Types.VARCHAR,
+                        Types.BOOLEAN });
+        for (int i = 1; i <= rows; i++) {
+            students.moveToInsertRow();
+            students.updateInt(1, i);
+            students.updateString(2, "student" + i + "@ilstu.edu");
+            students.updateString(3, "Junior");
+            students.insertRow();
+
+            posts.moveToInsertRow();
+            posts.updateInt(1, i);
+            posts.updateString(2, "Post number " + i + " about the upcoming group meeting");
+            posts.updateInt(3, i % 97 + 1);
+            posts.updateString(4, "student" + (i % 97 + 1) + "@ilstu.edu");
+            posts.updateString(5, "Senior");
+            posts.updateBoolean(6, i % 5 == 0);
+            posts.insertRow();
+        }
+        students.moveToCurrentRow();
+        posts.moveToCurrentRow();
+    }
+
+    private static CachedRowSet rowSet(String[] columns, int[] types) throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            metaData.setColumnName(i + 1, columns[i]);
+            metaData.setColumnType(i + 1, types[i]);
+        }
+        CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+        rowSet.setMetaData(metaData);
+        return rowSet;
+    }
+
+    @Override
+    public List<?> mapStudents() throws SQLException {
+        students.beforeFirst();
+        return handler.mapResultSetToStudentList(students);
+    }
+
+    @Override
+    public List<?> mapPosts() throws SQLException {
+        posts.beforeFirst();
+        return handler.mapResultSetToPostList(posts);
+    }
+}
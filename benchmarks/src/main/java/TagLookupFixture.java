@@ -0,0 +1,64 @@
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import benchmarks.TagLookupBenchmark;
+
+// A TagHandler whose catalog was loaded from the in-memory backend
+public class TagLookupFixture implements TagLookupBenchmark.Fixture {
+
+    private static final int LOOKUP_ORDER_SIZE = 1024;
+
+    private TagHandler tagHandler;
+    private int[] ids;
+    private String[] names;
+    private int next;
+
+    @Override
+    public void setUp(int tags) {
+        Log.setLevel(Log.Level.WARN);
+        InMemoryDatabase database = new InMemoryDatabase("StudentDB");
+        database.connect();
+        DatabaseHandler dbHandler = new DatabaseHandler(database);
+        for (int i = 0; i < tags; i++) {
+            dbHandler.addTag(new Tag("Tag" + i, "benchmark tag " + i));
+        }
+        tagHandler = new TagHandler(dbHandler);
+
+        List<Tag> all = tagHandler.getAllTags();
+        Random random = new Random(42);
+        ids = new int[LOOKUP_ORDER_SIZE];
+        names = new String[LOOKUP_ORDER_SIZE];
+        for (int i = 0; i < LOOKUP_ORDER_SIZE; i++) {
+            Tag tag = all.get(random.nextInt(all.size()));
+            ids[i] = tag.getID();
+            names[i] = tag.getName().toUpperCase(Locale.ROOT);
+        }
+    }
+
+    private int advance() {
+        int current = next;
+        next = (next + 1) & (LOOKUP_ORDER_SIZE - 1);
+        return current;
+    }
+
+    @Override
+    public Object tagById() {
+        return tagHandler.getTagById(ids[advance()]);
+    }
+
+    @Override
+    public Object tagByName() {
+        return tagHandler.getTagByName(names[advance()]);
+    }
+
+    @Override
+    public Object missingTagByName() {
+        return tagHandler.getTagByName("no such tag");
+    }
+
+    @Override
+    public List<?> allTags() {
+        return tagHandler.getAllTags();
+    }
+}
@@ -0,0 +1,19 @@
+package benchmarks;
+
+// JMH will not generate code for benchmarks in the default package, but the application lives
+// there and cannot be imported from a named one. Each benchmark therefore drives the code under
+// test through a small interface, implemented by a default-package fixture loaded by name.
+// Only setup is reflective; the measured calls are plain interface calls.
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static <T> T load(String className, Class<T> type) {
+        try {
+            return type.cast(Class.forName(className).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot load benchmark fixture " + className, e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// "People you may know" ranking and mutual-friend lookups over a built friend graph
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FriendSuggestionBenchmark {
+
+    public interface Fixture {
+        // One student with this many friends, in a graph where every student has about as many
+        void setUp(int friends);
+
+        // Top ten suggestions for that student, including shared groups and tags
+        List<?> suggestions();
+
+        // Mutual friends of that student and the next of a fixed pseudo-random set of others
+        int[] mutualFriends();
+    }
+
+    @Param({ "50", "500" })
+    public int friends;
+
+    private Fixture fixture;
+
+    @Setup
+    public void setUp() {
+        fixture = Fixtures.load("FriendSuggestionFixture", Fixture.class);
+        fixture.setUp(friends);
+    }
+
+    @Benchmark
+    public List<?> suggestFriends() {
+        return fixture.suggestions();
+    }
+
+    @Benchmark
+    public int[] getMutualFriendIds() {
+        return fixture.mutualFriends();
+    }
+}
@@ -0,0 +1,85 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Membership checks and listings on a loaded Group, and the stored-membership check on the
+// in-memory backend
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupMembershipBenchmark {
+
+    public interface Fixture {
+        void setUp(int members);
+
+        // Each call looks up the next member in a fixed pseudo-random order
+        boolean isMember();
+
+        boolean isMemberActive();
+
+        Object memberJoinDate();
+
+        int activeMemberCount();
+
+        boolean isStudentInGroup();
+
+        // Adds a new member and ends the membership again
+        boolean joinAndLeave();
+    }
+
+    @Param({ "10", "1000" })
+    public int members;
+
+    private Fixture fixture;
+
+    @Setup
+    public void setUp() {
+        fixture = Fixtures.load("GroupMembershipFixture", Fixture.class);
+        fixture.setUp(members);
+    }
+
+    @Benchmark
+    public boolean isMember() {
+        return fixture.isMember();
+    }
+
+    @Benchmark
+    public boolean isMemberActive() {
+        return fixture.isMemberActive();
+    }
+
+    @Benchmark
+    public Object getMemberJoinDate() {
+        return fixture.memberJoinDate();
+    }
+
+    @Benchmark
+    public int getActiveMembers() {
+        return fixture.activeMemberCount();
+    }
+
+    @Benchmark
+    public boolean isStudentInGroup() {
+        return fixture.isStudentInGroup();
+    }
+
+    @Benchmark
+    public boolean joinAndLeave() {
+        return fixture.joinAndLeave();
+    }
+}
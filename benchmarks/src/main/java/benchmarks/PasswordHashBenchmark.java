@@ -0,0 +1,57 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The password hash used by every backend, alone and inside a login against the in-memory backend
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    public interface Fixture {
+        void setUp();
+
+        String hashPassword();
+
+        Object authenticate();
+
+        Object authenticateWrongPassword();
+    }
+
+    private Fixture fixture;
+
+    @Setup
+    public void setUp() {
+        fixture = Fixtures.load("PasswordHashFixture", Fixture.class);
+        fixture.setUp();
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return fixture.hashPassword();
+    }
+
+    @Benchmark
+    public Object authenticateStudent() {
+        return fixture.authenticate();
+    }
+
+    @Benchmark
+    public Object authenticateStudentWrongPassword() {
+        return fixture.authenticateWrongPassword();
+    }
+}
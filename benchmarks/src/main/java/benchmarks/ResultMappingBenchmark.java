@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Row mapping in MySQLHandler, over an in-memory result set so no server is involved
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultMappingBenchmark {
+
+    public interface Fixture {
+        void setUp(int rows) throws Exception;
+
+        List<?> mapStudents() throws Exception;
+
+        List<?> mapPosts() throws Exception;
+    }
+
+    @Param({ "100", "10000" })
+    public int rows;
+
+    private Fixture fixture;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = Fixtures.load("ResultMappingFixture", Fixture.class);
+        fixture.setUp(rows);
+    }
+
+    @Benchmark
+    public List<?> mapResultSetToStudentList() throws Exception {
+        return fixture.mapStudents();
+    }
+
+    @Benchmark
+    public List<?> mapResultSetToPostList() throws Exception {
+        return fixture.mapPosts();
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// TagHandler catalog lookups, loaded from the in-memory backend
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagLookupBenchmark {
+
+    public interface Fixture {
+        void setUp(int tags);
+
+        // Each call looks up the next tag in a fixed pseudo-random order
+        Object tagById();
+
+        // Names are looked up in a different case than they were stored in
+        Object tagByName();
+
+        Object missingTagByName();
+
+        List<?> allTags();
+    }
+
+    @Param({ "100", "10000" })
+    public int tags;
+
+    private Fixture fixture;
+
+    @Setup
+    public void setUp() {
+        fixture = Fixtures.load("TagLookupFixture", Fixture.class);
+        fixture.setUp(tags);
+    }
+
+    @Benchmark
+    public Object getTagById() {
+        return fixture.tagById();
+    }
+
+    @Benchmark
+    public Object getTagByName() {
+        return fixture.tagByName();
+    }
+
+    @Benchmark
+    public Object getTagByNameMissing() {
+        return fixture.missingTagByName();
+    }
+
+    @Benchmark
+    public List<?> getAllTags() {
+        return fixture.allTags();
+    }
+}
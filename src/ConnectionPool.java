@@ -0,0 +1,280 @@
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPool {
+
+    // Connections returned more recently than this are handed out again without a validation round trip
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+
+    private final String url;
+    private final Properties connectionProperties;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+
+    // Idle connections, most recently returned first so the busiest connections stay warm
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    // One permit per connection that may be borrowed, which bounds the pool at maxSize
+    private final Semaphore permits;
+    private final ScheduledExecutorService evictor;
+    private int totalConnections = 0;
+    private volatile boolean closed = false;
+
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+            long acquireTimeoutMillis, long idleTimeoutMillis, int validationTimeoutSeconds,
+            int statementCacheSize) throws SQLException {
+        this(url, credentials(user, password), minSize, maxSize, acquireTimeoutMillis, idleTimeoutMillis,
+                validationTimeoutSeconds, statementCacheSize);
+    }
+
+    // Driver-specific settings (e.g. SQLite pragmas) go in connectionProperties along with any credentials
+    public ConnectionPool(String url, Properties connectionProperties, int minSize, int maxSize,
+            long acquireTimeoutMillis, long idleTimeoutMillis, int validationTimeoutSeconds,
+            int statementCacheSize) throws SQLException {
+        if (url == null || url.isEmpty()) {
+            throw new IllegalArgumentException("Connection URL cannot be null or empty.");
+        }
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException(
+                    "Invalid pool size: min=" + minSize + ", max=" + maxSize + ".");
+        }
+        this.url = url;
+        this.connectionProperties = new Properties();
+        this.connectionProperties.putAll(connectionProperties);
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        // Open the minimum number of connections up front so a bad configuration fails fast
+        try {
+            for (int i = 0; i < minSize; i++) {
+                PooledConnection conn = openConnection();
+                conn.markIdle();
+                synchronized (this) {
+                    idleConnections.push(conn);
+                }
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+
+        if (idleTimeoutMillis > 0) {
+            long period = Math.max(1000, idleTimeoutMillis / 2);
+            evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ConnectionPool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            evictor.scheduleAtFixedRate(this::evictIdleConnections, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            evictor = null;
+        }
+    }
+
+    public static Properties credentials(String user, String password) {
+        Properties properties = new Properties();
+        if (user != null) {
+            properties.setProperty("user", user);
+        }
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+        return properties;
+    }
+
+    // Borrow a connection, waiting up to the acquire timeout if the pool is exhausted
+    public PooledConnection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed.");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a database connection (pool size " + maxSize + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+
+        try {
+            PooledConnection conn;
+            while ((conn = pollIdleConnection()) != null) {
+                if (isUsable(conn)) {
+                    conn.markBorrowed();
+                    return conn;
+                }
+                discard(conn);
+            }
+            conn = openConnection();
+            conn.markBorrowed();
+            return conn;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Called by PooledConnection.close()
+    void release(PooledConnection conn) {
+        try {
+            if (!resetForReuse(conn)) {
+                discard(conn);
+                return;
+            }
+            synchronized (this) {
+                if (!closed) {
+                    conn.markIdle();
+                    idleConnections.push(conn);
+                    return;
+                }
+            }
+            discard(conn);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Close every idle connection; borrowed connections are replaced lazily as they are returned
+    public void retireIdleConnections() {
+        List<PooledConnection> retired;
+        synchronized (this) {
+            retired = new ArrayList<>(idleConnections);
+            idleConnections.clear();
+        }
+        for (PooledConnection conn : retired) {
+            discard(conn);
+        }
+    }
+
+    public void close() {
+        closed = true;
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        retireIdleConnections();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public synchronized int getTotalCount() {
+        return totalConnections;
+    }
+
+    public synchronized int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    public synchronized int getActiveCount() {
+        return totalConnections - idleConnections.size();
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private synchronized PooledConnection pollIdleConnection() {
+        return idleConnections.poll();
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, connectionProperties);
+        synchronized (this) {
+            totalConnections++;
+        }
+        return new PooledConnection(this, connection,
+                new StatementCache(statementCacheSize, statementCacheHits, statementCacheMisses));
+    }
+
+    private void discard(PooledConnection conn) {
+        synchronized (this) {
+            totalConnections--;
+        }
+        conn.closePhysical();
+    }
+
+    private boolean isUsable(PooledConnection conn) {
+        try {
+            Connection connection = conn.getPhysicalConnection();
+            if (conn.getIdleMillis(System.currentTimeMillis()) < VALIDATION_BYPASS_MILLIS) {
+                return !connection.isClosed();
+            }
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // Undo any transaction state a borrower left behind before handing the connection out again
+    private boolean resetForReuse(PooledConnection conn) {
+        try {
+            Connection connection = conn.getPhysicalConnection();
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void evictIdleConnections() {
+        List<PooledConnection> evicted = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            // Oldest idle connections sit at the tail of the deque
+            Iterator<PooledConnection> it = idleConnections.descendingIterator();
+            while (it.hasNext() && totalConnections - evicted.size() > minSize) {
+                PooledConnection conn = it.next();
+                if (conn.getIdleMillis(now) < idleTimeoutMillis) {
+                    break;
+                }
+                it.remove();
+                evicted.add(conn);
+            }
+        }
+        for (PooledConnection conn : evicted) {
+            discard(conn);
+        }
+    }
+}
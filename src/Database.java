@@ -1,11 +1,16 @@
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
-public abstract class Database {
+public abstract class Database implements DatabaseOperations {
 
     // Attribute to store the database name
     protected String dbName;
 
+    // Latency and call counts for the statements this backend has run
+    protected final QueryStats queryStats = new QueryStats();
+
     // Constructor to initialize the database name
     public Database(String dbName) {
         if (dbName == null || dbName.isEmpty()) {
@@ -33,6 +38,10 @@ public abstract class Database {
     // Abstract method to disconnect from the database
     public abstract void disconnect();
 
+    public QueryStats getQueryStats() {
+        return queryStats;
+    }
+
     // Optional utility method for database name validation
     public void validateDatabaseName() {
         if (dbName == null || dbName.isEmpty()) {
@@ -42,12 +51,32 @@ public abstract class Database {
 
     // Example of a reusable utility method for error logging
     protected void logError(String message) {
-        System.err.println("[Database Error] " + message);
+        Log.error("[Database Error] " + message);
+    }
+
+    protected void logError(String message, Throwable cause) {
+        Log.error("[Database Error] " + message, cause);
+    }
+
+    // SHA-256 hex digest, the password format stored by every backend
+    protected static String hashPassword(String password) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hashedBytes = md.digest(password.getBytes());
+
+            StringBuilder sb = new StringBuilder();
+            for (byte b : hashedBytes) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash password", e);
+        }
     }
 
     // Optional method to print database status
     public void printStatus(String status) {
-        System.out.println("Database [" + dbName + "] Status: " + status);
+        Log.info("Database [" + dbName + "] Status: " + status);
     }
 
     // Abstract method to prepare SQL statements
@@ -14,14 +14,92 @@ public class DatabaseConfig {
     }
 
     // Database configuration
+    public static final DatabaseFactory.DatabaseType DB_TYPE = DatabaseFactory.DatabaseType
+            .valueOf(props.getProperty("DB_TYPE", "MYSQL").trim().toUpperCase());
     public static final String DB_HOST = props.getProperty("DB_HOST", "localhost");
     public static final int DB_PORT = Integer.parseInt(props.getProperty("DB_PORT", "3306"));
     public static final String DB_NAME = props.getProperty("DB_NAME", "StudentDB");
     public static final String DB_USER = props.getProperty("DB_USER", "MySQLUser");
     public static final String DB_PASSWORD = props.getProperty("DB_PASSWORD", "MySQLPassword");
 
+    // Console log threshold: DEBUG, INFO, WARN, ERROR or OFF
+    public static final Log.Level LOG_LEVEL = Log.Level
+            .valueOf(props.getProperty("LOG_LEVEL", "INFO").trim().toUpperCase());
+
+    // Connection pool configuration (the maximum defaults to two connections per core)
+    public static final int DB_POOL_MIN_SIZE = Integer.parseInt(props.getProperty("DB_POOL_MIN_SIZE", "2"));
+    public static final int DB_POOL_MAX_SIZE = Integer.parseInt(props.getProperty("DB_POOL_MAX_SIZE",
+            String.valueOf(Runtime.getRuntime().availableProcessors() * 2)));
+    public static final long DB_POOL_ACQUIRE_TIMEOUT_MS = Long
+            .parseLong(props.getProperty("DB_POOL_ACQUIRE_TIMEOUT_MS", "5000"));
+    public static final long DB_POOL_IDLE_TIMEOUT_MS = Long
+            .parseLong(props.getProperty("DB_POOL_IDLE_TIMEOUT_MS", "300000"));
+    public static final int DB_POOL_VALIDATION_TIMEOUT_SEC = Integer
+            .parseInt(props.getProperty("DB_POOL_VALIDATION_TIMEOUT_SEC", "2"));
+    public static final int DB_STATEMENT_CACHE_SIZE = Integer
+            .parseInt(props.getProperty("DB_STATEMENT_CACHE_SIZE", "64"));
+
+    // Number of post/group IDs each app instance reserves at a time
+    public static final int DB_ID_BLOCK_SIZE = Integer.parseInt(props.getProperty("DB_ID_BLOCK_SIZE", "50"));
+
+    // Rows fetched per round trip when a large result set is read through a server-side cursor
+    public static final int DB_FETCH_SIZE = Integer.parseInt(props.getProperty("DB_FETCH_SIZE", "500"));
+
+    // Student lookups cached per backend; entries expire so writes from other app instances show up
+    public static final int DB_STUDENT_CACHE_SIZE = Integer
+            .parseInt(props.getProperty("DB_STUDENT_CACHE_SIZE", "1000"));
+    public static final long DB_STUDENT_CACHE_TTL_MS = Long
+            .parseLong(props.getProperty("DB_STUDENT_CACHE_TTL_MS", "60000"));
+
+    // Logged-in sessions; a session ends this long after login
+    public static final int DB_SESSION_MAX = Integer.parseInt(props.getProperty("DB_SESSION_MAX", "10000"));
+    public static final long DB_SESSION_TTL_MS = Long.parseLong(props.getProperty("DB_SESSION_TTL_MS", "1800000"));
+
+    // Answer lookups for never-registered usernames from an in-process Bloom filter. Only turn on
+    // when this is the only app instance adding students, since each instance sees only its own writes.
+    public static final boolean DB_USERNAME_FILTER = Boolean
+            .parseBoolean(props.getProperty("DB_USERNAME_FILTER", "false"));
+
+    // Answer friend lists, friendship checks and suggestions from an in-process friend graph. Turn
+    // off when another app instance also writes friendships, since each instance sees only its own writes.
+    public static final boolean DB_FRIEND_GRAPH = Boolean
+            .parseBoolean(props.getProperty("DB_FRIEND_GRAPH", "true"));
+
+    // Record per-statement latency histograms and call counts (see Database.getQueryStats)
+    public static final boolean DB_QUERY_STATS = Boolean
+            .parseBoolean(props.getProperty("DB_QUERY_STATS", "true"));
+
+    // Statements slower than this are written with their parameters to the slow query log (-1 turns it off)
+    public static final long DB_SLOW_QUERY_MS = Long.parseLong(props.getProperty("DB_SLOW_QUERY_MS", "250"));
+    public static final String DB_SLOW_QUERY_LOG = props.getProperty("DB_SLOW_QUERY_LOG", "slow-queries.log");
+    public static final long DB_SLOW_QUERY_LOG_MAX_BYTES = Long
+            .parseLong(props.getProperty("DB_SLOW_QUERY_LOG_MAX_BYTES", "10485760"));
+    public static final int DB_SLOW_QUERY_LOG_FILES = Integer
+            .parseInt(props.getProperty("DB_SLOW_QUERY_LOG_FILES", "5"));
+
+    // PostgreSQL configuration (used when DB_TYPE=POSTGRESQL), falling back to the settings above
+    public static final String DB_PG_HOST = props.getProperty("DB_PG_HOST", DB_HOST);
+    public static final int DB_PG_PORT = Integer.parseInt(props.getProperty("DB_PG_PORT", "5432"));
+    public static final String DB_PG_USER = props.getProperty("DB_PG_USER", DB_USER);
+    public static final String DB_PG_PASSWORD = props.getProperty("DB_PG_PASSWORD", DB_PASSWORD);
+
+    // SQLite configuration (used when DB_TYPE=SQLITE); the database file is created on first start
+    public static final String DB_SQLITE_PATH = props.getProperty("DB_SQLITE_PATH", "StudentDB.db");
+    public static final int DB_SQLITE_BUSY_TIMEOUT_MS = Integer
+            .parseInt(props.getProperty("DB_SQLITE_BUSY_TIMEOUT_MS", "5000"));
+
     // Connection URL builder
+    // Connector/J prepares on the client unless told otherwise, which would leave StatementCache
+    // saving only parsing; server-side statements make a cache hit skip the prepare round trip.
+    // cachePrepStmts covers the statements prepared outside StatementCache (streaming reads).
     public static String getConnectionUrl() {
-        return String.format("jdbc:mysql://%s:%d/%s", DB_HOST, DB_PORT, DB_NAME);
+        return String.format("jdbc:mysql://%s:%d/%s?useServerPrepStmts=true&cachePrepStmts=true",
+                DB_HOST, DB_PORT, DB_NAME);
+    }
+
+    // pgjdbc binds setString values as varchar, and citext = varchar compares as text, case-sensitively;
+    // stringtype=unspecified lets the server type them from the column, so name lookups use citext
+    public static String getPostgresConnectionUrl() {
+        return String.format("jdbc:postgresql://%s:%d/%s?stringtype=unspecified", DB_PG_HOST, DB_PG_PORT, DB_NAME);
     }
 }
\ No newline at end of file
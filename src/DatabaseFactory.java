@@ -3,12 +3,28 @@ public class DatabaseFactory {
     // Enum to define supported database types
     public enum DatabaseType {
         MYSQL,
-        POSTGRESQL // Extendable to other database types in the future
+        POSTGRESQL,
+        SQLITE,
+        IN_MEMORY // Extendable to other database types in the future
     }
 
     // Singleton instance of MySQLHandler
     private static MySQLHandler mysqlHandlerInstance;
 
+    // Singleton instance of PostgreSQLHandler
+    private static PostgreSQLHandler postgresHandlerInstance;
+
+    // Singleton instance of SQLiteHandler
+    private static SQLiteHandler sqliteHandlerInstance;
+
+    // Singleton instance of InMemoryDatabase
+    private static InMemoryDatabase inMemoryInstance;
+
+    // Method to create a database instance of the type set by DB_TYPE in database.properties
+    public static Database getDatabase(String dbName) {
+        return getDatabase(DatabaseConfig.DB_TYPE, dbName);
+    }
+
     // Method to create a database instance
     public static Database getDatabase(DatabaseType type, String dbName) {
         if (!Validator.isValidString(dbName)) {
@@ -23,7 +39,20 @@ public class DatabaseFactory {
                 return mysqlHandlerInstance;
             // Extend here for other database types
             case POSTGRESQL:
-                throw new UnsupportedOperationException("PostgreSQLHandler is not implemented yet.");
+                if (postgresHandlerInstance == null) {
+                    postgresHandlerInstance = new PostgreSQLHandler(dbName);
+                }
+                return postgresHandlerInstance;
+            case SQLITE:
+                if (sqliteHandlerInstance == null) {
+                    sqliteHandlerInstance = new SQLiteHandler(dbName);
+                }
+                return sqliteHandlerInstance;
+            case IN_MEMORY:
+                if (inMemoryInstance == null) {
+                    inMemoryInstance = new InMemoryDatabase(dbName);
+                }
+                return inMemoryInstance;
             default:
                 throw new IllegalArgumentException("Unsupported database type.");
         }
@@ -3,307 +3,658 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Stream;
 
 public class DatabaseHandler extends Database implements DatabaseOperations {
-    private final MySQLHandler sqlHandler;
+    // Handlers are created freely (StudentHandler makes one per lookup), so the caches
+    // live with the backend rather than with the handler
+    private static final class BackendCaches {
+        final StudentCache students = new StudentCache(DatabaseConfig.DB_STUDENT_CACHE_SIZE,
+                DatabaseConfig.DB_STUDENT_CACHE_TTL_MS);
+        final UsernameFilter usernames;
+        final SessionStore sessions = new SessionStore(DatabaseConfig.DB_SESSION_MAX,
+                DatabaseConfig.DB_SESSION_TTL_MS);
+        final FriendGraph friends;
+        final GroupCache groups = new GroupCache();
+
+        BackendCaches(Database backend) {
+            usernames = new UsernameFilter(() -> backend.streamAllStudents().map(Student::getEmail),
+                    DatabaseConfig.DB_USERNAME_FILTER);
+            friends = new FriendGraph(backend::streamAllFriendships, DatabaseConfig.DB_FRIEND_GRAPH);
+        }
+    }
+
+    private static final Map<Database, BackendCaches> BACKEND_CACHES = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    private final Database backend;
+    private final StudentCache studentCache;
+    private final UsernameFilter usernameFilter;
+    private final SessionStore sessions;
+    private final FriendGraph friendGraph;
+    private final GroupCache groupCache;
 
     public DatabaseHandler(Database database) {
         super(database.getDbName());
-        this.sqlHandler = (MySQLHandler) database;
-        System.out.println("DatabaseHandler created for database: " + database.getDbName());
+        this.backend = database;
+        BackendCaches caches = BACKEND_CACHES.computeIfAbsent(database, BackendCaches::new);
+        this.studentCache = caches.students;
+        this.usernameFilter = caches.usernames;
+        this.sessions = caches.sessions;
+        this.friendGraph = caches.friends;
+        this.groupCache = caches.groups;
+        Log.debug(() -> "DatabaseHandler created for database: " + database.getDbName());
     }
 
     public Database getDatabase() {
-        return sqlHandler;
+        return backend;
+    }
+
+    // Statements run through this handler are recorded by the backend
+    @Override
+    public QueryStats getQueryStats() {
+        return backend.getQueryStats();
+    }
+
+    public GroupCache getGroupCache() {
+        return groupCache;
+    }
+
+    public StudentCache getStudentCache() {
+        return studentCache;
+    }
+
+    public UsernameFilter getUsernameFilter() {
+        return usernameFilter;
+    }
+
+    public SessionStore getSessionStore() {
+        return sessions;
+    }
+
+    public FriendGraph getFriendGraph() {
+        return friendGraph;
+    }
+
+    // Authenticate once and start a session; returns the session token, or null if the login failed
+    public String openSession(String username, String password) {
+        Student student = backend.authenticateStudent(username, password);
+        return student != null ? sessions.open(student) : null;
+    }
+
+    // The logged-in student for a session token, without a database round trip
+    public Student getSessionStudent(String token) {
+        return sessions.resolve(token);
+    }
+
+    public void closeSession(String token) {
+        sessions.close(token);
     }
 
     @Override
     public void connect() {
-        // Connection is managed by MySQLHandler singleton, no need to connect here
+        // Connection is managed by the backend singleton, no need to connect here
     }
 
     @Override
     public void disconnect() {
-        // Connection is managed by MySQLHandler singleton, no need to disconnect here
+        // Connection is managed by the backend singleton, no need to disconnect here
     }
 
     @Override
     public boolean addStudent(Student student, String password) {
-        return sqlHandler.addStudent(student, password);
+        boolean added = backend.addStudent(student, password);
+        if (added) {
+            usernameFilter.recordAdded(student.getEmail());
+        }
+        return added;
+    }
+
+    @Override
+    public int addStudents(List<Student> students, List<String> passwords) {
+        int added = backend.addStudents(students, passwords);
+        if (added == students.size()) {
+            for (Student student : students) {
+                usernameFilter.recordAdded(student.getEmail());
+            }
+        } else if (added > 0) {
+            usernameFilter.invalidate();
+        }
+        return added;
     }
 
     @Override
     public Student getStudentByUsername(String username) {
-        return sqlHandler.getStudentByUsername(username);
+        if (usernameFilter.isDefinitelyAbsent(username)) {
+            return null;
+        }
+        return studentCache.getByUsername(username, backend::getStudentByUsername);
+    }
+
+    @Override
+    public Student getStudentById(int userId) {
+        return studentCache.getById(userId, backend::getStudentById);
+    }
+
+    @Override
+    public List<Student> getStudentsByIds(int[] studentIds) {
+        return studentCache.getAllById(studentIds, backend::getStudentsByIds);
+    }
+
+    @Override
+    public Student findStudentByEmail(String email) {
+        if (usernameFilter.isDefinitelyAbsent(email)) {
+            return null;
+        }
+        return studentCache.getByUsername(email, backend::findStudentByEmail);
     }
 
     public boolean updateStudent(Student student) {
-        return sqlHandler.updateStudent(student.getID(), student.getName(), student.getYear());
+        return updateStudent(student.getID(), student.getName(), student.getYear());
     }
 
     @Override
     public boolean updateStudent(int id, String newName, String newYear) {
-        return sqlHandler.updateStudent(id, newName, newYear);
+        boolean updated = backend.updateStudent(id, newName, newYear);
+        studentCache.invalidate(id);
+        if (updated) {
+            sessions.updateAllFor(id, student -> {
+                student.setEmail(newName); // userName holds the email
+                student.setName(newName);
+                student.setYear(newYear);
+            });
+            // The old name stays in the filter as a false positive until the next rebuild
+            usernameFilter.recordAdded(newName);
+        }
+        return updated;
     }
 
     @Override
     public boolean removeStudent(int id) {
-        return sqlHandler.removeStudent(id);
+        boolean removed = backend.removeStudent(id);
+        studentCache.invalidate(id);
+        if (removed) {
+            sessions.closeAllFor(id);
+            usernameFilter.recordRemoved();
+            friendGraph.recordAllUnfriended(id);
+            // Their memberships went with them
+            groupCache.clear();
+        }
+        return removed;
     }
 
     @Override
     public Student authenticateStudent(String username, String password) {
-        return sqlHandler.authenticateStudent(username, password);
+        return backend.authenticateStudent(username, password);
     }
 
     @Override
     public boolean doesUsernameExist(String username) {
-        return sqlHandler.doesUsernameExist(username);
+        if (usernameFilter.isDefinitelyAbsent(username)) {
+            return false;
+        }
+        return backend.doesUsernameExist(username);
     }
 
     @Override
     public List<Group> getAllGroups() {
-        return sqlHandler.getAllGroups();
+        return backend.getAllGroups();
     }
 
     @Override
     public boolean addGroup(Group group) {
-        System.out.println("\n====== DatabaseHandler Debug ======");
-        System.out.println("Forwarding addGroup call to MySQLHandler");
-        System.out.println("Group details:");
-        System.out.println("- ID: " + group.getID());
-        System.out.println("- Name: " + group.getName());
-        System.out.println("- Description: " + group.getDescription());
-        return sqlHandler.addGroup(group);
+        Log.debug(() -> "Forwarding addGroup to " + backend.getClass().getSimpleName() + ": id=" + group.getID()
+                + ", name=" + group.getName() + ", description=" + group.getDescription());
+        return backend.addGroup(group);
     }
 
     @Override
     public boolean addMemberToGroup(int groupId, int studentId) {
-        return sqlHandler.addMemberToGroup(groupId, studentId);
+        boolean added = backend.addMemberToGroup(groupId, studentId);
+        if (added) {
+            membershipChanged(studentId, groupId);
+        }
+        return added;
+    }
+
+    // A membership write changes the cached group and the group list of the student's sessions
+    private void membershipChanged(int studentId, int groupId) {
+        groupCache.invalidate(groupId);
+        if (!sessions.isOpenFor(studentId)) {
+            return;
+        }
+        Group group = backend.isStudentInGroup(studentId, groupId) ? backend.getGroupByID(groupId) : null;
+        sessions.updateAllFor(studentId, student -> {
+            student.getGroups().removeIf(g -> g.getID() == groupId);
+            if (group != null) {
+                student.getGroups().add(new Group(group.getID(), group.getName(), group.getDescription()));
+            }
+        });
     }
 
     @Override
     public PreparedStatement prepareStatement(String query) {
-        return sqlHandler.prepareStatement(query);
+        try {
+            return backend.prepareStatement(query);
+        } catch (SQLException e) {
+            logError("Failed to prepare statement: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
     public boolean editPost(Post post) {
-        return sqlHandler.editPost(post);
+        return backend.editPost(post);
     }
 
     @Override
     public boolean leaveGroup(Group group, Student student) {
-        return sqlHandler.leaveGroup(group, student);
+        boolean left = backend.leaveGroup(group, student);
+        if (left) {
+            membershipChanged(student.getID(), group.getID());
+        }
+        return left;
     }
 
     @Override
     public boolean containsTag(Tag tag) {
-        return sqlHandler.containsTag(tag);
+        return backend.containsTag(tag);
     }
 
     @Override
     public boolean createPost(Post post) {
-        return sqlHandler.createPost(post);
+        return backend.createPost(post);
     }
 
     @Override
     public boolean addTagToStudent(int studentId, int tagId) {
-        return sqlHandler.addTagToStudent(studentId, tagId);
+        boolean added = backend.addTagToStudent(studentId, tagId);
+        studentCache.invalidate(studentId); // Cached by-ID lookups carry the student's tags
+        return added;
     }
 
     @Override
     public boolean removeTagFromStudent(int studentId, int tagId) {
-        return sqlHandler.removeTagFromStudent(studentId, tagId);
+        boolean removed = backend.removeTagFromStudent(studentId, tagId);
+        studentCache.invalidate(studentId);
+        return removed;
     }
 
     @Override
     public boolean addPostToGroup(int postId, int groupId) {
-        return sqlHandler.addPostToGroup(postId, groupId);
+        return backend.addPostToGroup(postId, groupId);
     }
 
     @Override
     public boolean updateMembershipEndDate(int studentId, int groupId, java.sql.Date endDate) {
-        return sqlHandler.updateMembershipEndDate(studentId, groupId, endDate);
+        boolean updated = backend.updateMembershipEndDate(studentId, groupId, endDate);
+        if (updated) {
+            membershipChanged(studentId, groupId);
+        }
+        return updated;
     }
 
     @Override
     public boolean sendFriendRequest(int fromUserId, int toUserId) {
-        return sqlHandler.sendFriendRequest(fromUserId, toUserId);
+        return backend.sendFriendRequest(fromUserId, toUserId);
     }
 
     @Override
     public boolean acceptFriendRequest(int requestId) {
-        return sqlHandler.acceptFriendRequest(requestId);
+        boolean accepted = backend.acceptFriendRequest(requestId);
+        if (accepted) {
+            // The request ID does not say who became friends, so the graph is reloaded
+            friendGraph.invalidate();
+        }
+        return accepted;
     }
 
     @Override
     public boolean declineFriendRequest(int requestId) {
-        return sqlHandler.declineFriendRequest(requestId);
+        return backend.declineFriendRequest(requestId);
     }
 
     @Override
     public boolean blockUser(int blockerId, int blockedId) {
-        return sqlHandler.blockUser(blockerId, blockedId);
+        return backend.blockUser(blockerId, blockedId);
     }
 
     @Override
     public boolean bookmarkPost(int userId, int postId) {
-        return sqlHandler.bookmarkPost(userId, postId);
+        return backend.bookmarkPost(userId, postId);
     }
 
     @Override
     public boolean toggleAnonymousMode(int userId, boolean isAnonymous) {
-        return sqlHandler.toggleAnonymousMode(userId, isAnonymous);
+        boolean toggled = backend.toggleAnonymousMode(userId, isAnonymous);
+        studentCache.invalidate(userId);
+        if (toggled) {
+            sessions.updateAllFor(userId, student -> student.setAnonymous(isAnonymous));
+        }
+        return toggled;
     }
 
     @Override
     public List<Student> getFriendRequests(int userId) {
-        return sqlHandler.getFriendRequests(userId);
+        return backend.getFriendRequests(userId);
     }
 
+    // Friend IDs come from the friend graph and the students from the student cache, with every
+    // miss loaded by ID in one batch; the backend's friend query only runs without the graph
     @Override
     public List<Student> getFriends(int userId) {
-        return sqlHandler.getFriends(userId);
+        int[] friendIds = friendGraph.getFriendIds(userId);
+        if (friendIds == null) {
+            return backend.getFriends(userId);
+        }
+        if (friendIds.length == 0) {
+            return new ArrayList<>();
+        }
+        return studentCache.getAllById(friendIds, backend::getStudentsByIds);
+    }
+
+    // Answered from the friend graph, or by the backend if the graph cannot be built
+    public boolean areFriends(int userId, int otherId) {
+        int friends = friendGraph.areFriends(userId, otherId);
+        if (friends >= 0) {
+            return friends == 1;
+        }
+        return Arrays.binarySearch(studentIds(backend.getFriends(userId)), otherId) >= 0;
+    }
+
+    public int getFriendCount(int userId) {
+        int degree = friendGraph.degree(userId);
+        return degree >= 0 ? degree : studentIds(backend.getFriends(userId)).length;
+    }
+
+    public List<Student> getMutualFriends(int userId, int otherId) {
+        int[] mutualIds = friendGraph.getMutualFriendIds(userId, otherId);
+        if (mutualIds == null) {
+            mutualIds = FriendGraph.intersect(studentIds(backend.getFriends(userId)),
+                    studentIds(backend.getFriends(otherId)));
+        }
+        return getStudentsByIds(mutualIds);
+    }
+
+    // "People you may know", best first. Without the friend graph, friends of friends are read
+    // from the backend with one query per friend.
+    public List<FriendSuggestions.Suggestion> suggestFriends(int userId, int limit) {
+        int[] friendIds = friendGraph.getFriendIds(userId);
+        int[] friendsOfFriends = friendGraph.getFriendsOfFriends(userId);
+        if (friendIds == null || friendsOfFriends == null) {
+            friendIds = studentIds(backend.getFriends(userId));
+            friendsOfFriends = friendsOfFriendsFromBackend(friendIds);
+        }
+        int[] blockedOrRequestedIds = backend.getBlockedOrRequestedIds(userId);
+        int[] excludedIds = Arrays.copyOf(friendIds, friendIds.length + blockedOrRequestedIds.length);
+        System.arraycopy(blockedOrRequestedIds, 0, excludedIds, friendIds.length, blockedOrRequestedIds.length);
+        return FriendSuggestions.rank(userId, excludedIds, friendsOfFriends,
+                backend.getSharedGroupMemberIds(userId), backend.getSharedTagStudentIds(userId), limit);
+    }
+
+    // Same shape as FriendGraph.getFriendsOfFriends: sorted, one entry per connecting friend
+    private int[] friendsOfFriendsFromBackend(int[] friendIds) {
+        int[][] rows = new int[friendIds.length][];
+        int total = 0;
+        for (int i = 0; i < friendIds.length; i++) {
+            rows[i] = studentIds(backend.getFriends(friendIds[i]));
+            total += rows[i].length;
+        }
+        int[] result = new int[total];
+        int next = 0;
+        for (int[] row : rows) {
+            System.arraycopy(row, 0, result, next, row.length);
+            next += row.length;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    // Sorted, for binary search; a failed lookup (null) gives no IDs
+    private static int[] studentIds(List<Student> students) {
+        if (students == null) {
+            return new int[0];
+        }
+        int[] ids = new int[students.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = students.get(i).getID();
+        }
+        Arrays.sort(ids);
+        return ids;
     }
 
     @Override
     public List<Student> getBlockedUsers(int userId) {
-        return sqlHandler.getBlockedUsers(userId);
+        return backend.getBlockedUsers(userId);
     }
 
     @Override
     public List<Post> getBookmarkedPosts(int userId) {
-        return sqlHandler.getBookmarkedPosts(userId);
+        return backend.getBookmarkedPosts(userId);
     }
 
     public List<Post> getStudentPosts(int studentId) {
-        return sqlHandler.getStudentPosts(studentId);
+        return backend.getStudentPosts(studentId);
     }
 
     public boolean removePost(int postId) {
-        return sqlHandler.removePost(postId);
+        return backend.removePost(postId);
     }
 
     public boolean removeAllFriendships(int userId) {
-        return sqlHandler.removeAllFriendships(userId);
+        boolean removed = backend.removeAllFriendships(userId);
+        if (removed) {
+            friendGraph.recordAllUnfriended(userId);
+        }
+        return removed;
     }
 
     @Override
     public boolean removeFriend(int userId, int friendId) {
-        return sqlHandler.removeFriend(userId, friendId);
+        boolean removed = backend.removeFriend(userId, friendId);
+        if (removed) {
+            friendGraph.recordUnfriended(userId, friendId);
+        }
+        return removed;
     }
 
     @Override
     public boolean unblockUser(int blockerId, int blockedId) {
-        return sqlHandler.unblockUser(blockerId, blockedId);
+        return backend.unblockUser(blockerId, blockedId);
     }
 
     @Override
     public boolean removeMemberFromGroup(int groupId, int studentId) {
-        return sqlHandler.removeMemberFromGroup(groupId, studentId);
+        boolean removed = backend.removeMemberFromGroup(groupId, studentId);
+        if (removed) {
+            membershipChanged(studentId, groupId);
+        }
+        return removed;
     }
 
     @Override
     public boolean deleteStudent(int studentId) {
-        return sqlHandler.deleteStudent(studentId);
+        boolean deleted = backend.deleteStudent(studentId);
+        studentCache.invalidate(studentId);
+        if (deleted) {
+            sessions.closeAllFor(studentId);
+            usernameFilter.recordRemoved();
+            friendGraph.recordAllUnfriended(studentId);
+            groupCache.clear();
+        }
+        return deleted;
     }
 
     @Override
     public boolean updateStudentPassword(int studentId, String newPassword) {
-        return sqlHandler.updateStudentPassword(studentId, newPassword);
+        boolean updated = backend.updateStudentPassword(studentId, newPassword);
+        studentCache.invalidate(studentId);
+        if (updated) {
+            // Existing logins were made with the old password
+            sessions.closeAllFor(studentId);
+        }
+        return updated;
     }
 
     @Override
     public List<Post> getGroupPosts(int groupId) {
-        return sqlHandler.getGroupPosts(groupId);
+        return backend.getGroupPosts(groupId);
+    }
+
+    @Override
+    public PostPage getGroupPostsPage(int groupId, PostPage.Cursor cursor, int pageSize,
+            PostPage.Direction direction) {
+        return backend.getGroupPostsPage(groupId, cursor, pageSize, direction);
     }
 
     public Group findGroupByName(String groupName) {
-        return sqlHandler.findGroupByName(groupName);
+        return backend.findGroupByName(groupName);
     }
 
     @Override
     public boolean isStudentInGroup(int studentId, int groupId) {
-        return sqlHandler.isStudentInGroup(studentId, groupId);
+        return backend.isStudentInGroup(studentId, groupId);
     }
 
     @Override
     public boolean joinGroup(int studentId, int groupId) {
-        return sqlHandler.joinGroup(studentId, groupId);
+        boolean joined = backend.joinGroup(studentId, groupId);
+        if (joined) {
+            membershipChanged(studentId, groupId);
+        }
+        return joined;
     }
 
     @Override
     public boolean leaveGroup(int studentId, int groupId) {
-        return sqlHandler.leaveGroup(studentId, groupId);
+        boolean left = backend.leaveGroup(studentId, groupId);
+        if (left) {
+            membershipChanged(studentId, groupId);
+        }
+        return left;
     }
 
     @Override
     public Group getGroupByID(int groupId) {
-        return sqlHandler.getGroupByID(groupId);
+        return backend.getGroupByID(groupId);
     }
 
     @Override
     public boolean deletePost(int postId) {
-        return sqlHandler.deletePost(postId);
+        return backend.deletePost(postId);
     }
 
     @Override
     public boolean hasPendingFriendRequest(int senderId, int receiverId) {
-        return sqlHandler.hasPendingFriendRequest(senderId, receiverId);
+        return backend.hasPendingFriendRequest(senderId, receiverId);
     }
 
     @Override
     public List<Student> getIncomingFriendRequests(int studentId) {
-        return sqlHandler.getIncomingFriendRequests(studentId);
+        return backend.getIncomingFriendRequests(studentId);
     }
 
     @Override
     public boolean acceptFriendRequest(int requesterId, int accepterId) {
-        return sqlHandler.acceptFriendRequest(requesterId, accepterId);
+        boolean accepted = backend.acceptFriendRequest(requesterId, accepterId);
+        if (accepted) {
+            friendGraph.recordFriendship(requesterId, accepterId);
+        }
+        return accepted;
     }
 
     @Override
     public boolean declineFriendRequest(int requesterId, int declinerId) {
-        return sqlHandler.declineFriendRequest(requesterId, declinerId);
+        return backend.declineFriendRequest(requesterId, declinerId);
     }
 
     @Override
     public boolean isUserBlocked(int blockerId, int blockedId) {
-        return sqlHandler.isUserBlocked(blockerId, blockedId);
+        return backend.isUserBlocked(blockerId, blockedId);
     }
 
     @Override
     public boolean resetDatabase() {
-        return sqlHandler.resetDatabase();
+        boolean reset = backend.resetDatabase();
+        studentCache.clear();
+        usernameFilter.invalidate();
+        sessions.closeAll();
+        friendGraph.invalidate();
+        groupCache.clear();
+        return reset;
     }
 
+    // Raw SQL may touch any student row, so the caches are dropped
     @Override
     public boolean executeUpdate(String sql) {
-        return sqlHandler.executeUpdate(sql);
+        boolean updated = backend.executeUpdate(sql);
+        studentCache.clear();
+        usernameFilter.invalidate();
+        friendGraph.invalidate();
+        groupCache.clear();
+        return updated;
     }
 
     public List<Student> getAllStudents() {
-        return sqlHandler.getAllStudents();
+        return backend.getAllStudents();
     }
 
     public List<Tag> getAllTags() {
-        return sqlHandler.getAllTags();
+        return backend.getAllTags();
     }
 
+    @Override
+    public Stream<Student> streamAllStudents() {
+        return backend.streamAllStudents();
+    }
+
+    @Override
+    public Stream<Tag> streamAllTags() {
+        return backend.streamAllTags();
+    }
+
+    @Override
+    public Stream<int[]> streamAllFriendships() {
+        return backend.streamAllFriendships();
+    }
+
+    // Tag changes reach every student holding the tag
     public boolean updateTag(Tag tag) {
-        return sqlHandler.updateTag(tag);
+        boolean updated = backend.updateTag(tag);
+        studentCache.clear();
+        return updated;
     }
 
     public boolean removeTag(Tag tag) {
-        return sqlHandler.removeTag(tag);
+        boolean removed = backend.removeTag(tag);
+        studentCache.clear();
+        return removed;
     }
 
     public List<Integer> getStudentTagIds(int studentId) {
-        return sqlHandler.getStudentTagIds(studentId);
+        return backend.getStudentTagIds(studentId);
+    }
+
+    @Override
+    public int[] getSharedGroupMemberIds(int studentId) {
+        return backend.getSharedGroupMemberIds(studentId);
+    }
+
+    @Override
+    public int[] getSharedTagStudentIds(int studentId) {
+        return backend.getSharedTagStudentIds(studentId);
+    }
+
+    @Override
+    public int[] getBlockedOrRequestedIds(int studentId) {
+        return backend.getBlockedOrRequestedIds(studentId);
     }
 
     public boolean addTag(Tag tag) {
-        return sqlHandler.addTag(tag);
+        return backend.addTag(tag);
     }
 }
\ No newline at end of file
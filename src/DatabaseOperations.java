@@ -1,10 +1,22 @@
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface DatabaseOperations {
     boolean addStudent(Student student, String password);
 
+    // Bulk load; passwords.get(i) belongs to students.get(i). Returns the number of students added.
+    int addStudents(List<Student> students, List<String> passwords);
+
     Student getStudentByUsername(String username);
 
+    Student getStudentById(int userId);
+
+    // The students with these IDs, with their tags, in one round trip per few hundred IDs;
+    // IDs with no student are skipped. Null if the lookup failed.
+    List<Student> getStudentsByIds(int[] studentIds);
+
+    Student findStudentByEmail(String email);
+
     boolean updateStudent(int id, String newName, String newYear);
 
     boolean removeStudent(int id);
@@ -67,6 +79,9 @@ public interface DatabaseOperations {
 
     List<Post> getGroupPosts(int groupId);
 
+    // Pass a null cursor for the newest page
+    PostPage getGroupPostsPage(int groupId, PostPage.Cursor cursor, int pageSize, PostPage.Direction direction);
+
     boolean hasPendingFriendRequest(int senderId, int receiverId);
 
     List<Student> getIncomingFriendRequests(int studentId);
@@ -76,4 +91,40 @@ public interface DatabaseOperations {
     boolean declineFriendRequest(int requesterId, int declinerId);
 
     boolean isUserBlocked(int blockerId, int blockedId);
+
+    List<Post> getStudentPosts(int studentId);
+
+    boolean removePost(int postId);
+
+    boolean removeAllFriendships(int userId);
+
+    List<Student> getAllStudents();
+
+    List<Tag> getAllTags();
+
+    // Row-at-a-time variants for full-table walks; the caller must close the stream
+    Stream<Student> streamAllStudents();
+
+    Stream<Tag> streamAllTags();
+
+    // Each friendship as {userID1, userID2}
+    Stream<int[]> streamAllFriendships();
+
+    boolean addTag(Tag tag);
+
+    boolean updateTag(Tag tag);
+
+    boolean removeTag(Tag tag);
+
+    List<Integer> getStudentTagIds(int studentId);
+
+    // Other active members of the student's active groups, once per shared group
+    int[] getSharedGroupMemberIds(int studentId);
+
+    // Other students holding the student's tags, once per shared tag
+    int[] getSharedTagStudentIds(int studentId);
+
+    // Students blocking or blocked by the student, or with a pending friend request either way;
+    // never offered as friend suggestions. May repeat IDs.
+    int[] getBlockedOrRequestedIds(int studentId);
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+// Bounded LRU cache whose entries also expire a fixed time after they were loaded.
+// Thread-safe; loads run outside the lock, and a load that raced with an invalidation
+// is returned to its caller but not stored, so a stale row never outlives the write.
+public class ExpiringCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // Bumped by every invalidation, so loads started before it are not stored
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public ExpiringCache(int capacity, long ttlMillis) {
+        this(capacity, ttlMillis, System::nanoTime);
+    }
+
+    // The clock is in nanoseconds, like System.nanoTime
+    ExpiringCache(int capacity, long ttlMillis, LongSupplier clock) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Cache capacity cannot be negative.");
+        }
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("Cache TTL cannot be negative.");
+        }
+        this.capacity = capacity;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Cached value, or null on a miss
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && clock.getAsLong() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    // Read-through lookup; null results are not cached
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = get(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    store(key, value);
+                }
+            }
+        }
+        return value;
+    }
+
+    // Read-through lookup of many keys, loading every miss with one call; the result holds the
+    // keys that were cached or loaded, and misses the loader did not return are left out
+    public Map<K, V> getAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        Map<K, V> found = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (K key : keys) {
+                V cached = get(key);
+                if (cached != null) {
+                    found.put(key, cached);
+                } else {
+                    missing.add(key);
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        Map<K, V> loaded = loader.apply(missing);
+        if (loaded == null) {
+            return found;
+        }
+        synchronized (this) {
+            for (Map.Entry<K, V> entry : loaded.entrySet()) {
+                if (entry.getValue() != null) {
+                    found.put(entry.getKey(), entry.getValue());
+                    if (generation == loadGeneration) {
+                        store(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    public synchronized void put(K key, V value) {
+        if (value != null) {
+            store(key, value);
+        }
+    }
+
+    public synchronized void remove(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void removeIf(Predicate<? super V> filter) {
+        generation++;
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (filter.test(it.next().value)) {
+                it.remove();
+            }
+        }
+    }
+
+    // Visit live values in place, e.g. to patch them after a write; entries keep their expiry
+    public synchronized void forEachValue(Consumer<? super V> action) {
+        long now = clock.getAsLong();
+        for (Entry<V> entry : entries.values()) {
+            if (now - entry.expiresAt < 0) {
+                action.accept(entry.value);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getExpirations() {
+        return expirations;
+    }
+
+    public synchronized double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d entries, %d hits, %d misses (%.1f%% hit ratio), %d evicted, %d expired",
+                entries.size(), hits, misses, getHitRatio() * 100, evictions, expirations);
+    }
+
+    private void store(K key, V value) {
+        if (capacity > 0) {
+            entries.put(key, new Entry<>(value, clock.getAsLong() + ttlNanos));
+        }
+    }
+}
@@ -0,0 +1,433 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Read-optimized copy of the friends table for one backend, so friend lists, friendship checks
+// and friend counts need no query. Friendships are held in compressed sparse row (CSR) form: the
+// sorted IDs of students with friends, and for each one a sorted slice of one shared int array.
+// Readers use an immutable snapshot; each write publishes a new one whose changed rows sit in a
+// small override table until it grows large enough to be folded into a fresh CSR. Built on first
+// use from a streaming scan of the table, and, like UsernameFilter, only kept current by writes
+// made through DatabaseHandler, so DB_FRIEND_GRAPH must be turned off when another process also
+// writes friendships; every query then goes to the database.
+public class FriendGraph {
+
+    private static final int[] NO_FRIENDS = new int[0];
+    private static final int MIN_OVERRIDES_BEFORE_COMPACTION = 256;
+    private static final int RADIX = 1 << 16;
+
+    private static final class Snapshot {
+        final int[] ids; // Sorted IDs of students whose row is in the CSR
+        final int[] offsets; // Row i is friends[offsets[i] .. offsets[i + 1])
+        final int[] friends;
+        final IntHashMap<int[]> overrides; // Rows rewritten since the CSR was built; may be empty
+        final long edges;
+
+        Snapshot(int[] ids, int[] offsets, int[] friends, IntHashMap<int[]> overrides, long edges) {
+            this.ids = ids;
+            this.offsets = offsets;
+            this.friends = friends;
+            this.overrides = overrides;
+            this.edges = edges;
+        }
+
+        // The row as a fresh or shared array; only used on the write path and for copies
+        int[] row(int id) {
+            int[] override = overrides.get(id);
+            if (override != null) {
+                return override;
+            }
+            int index = Arrays.binarySearch(ids, id);
+            return index < 0 ? NO_FRIENDS : Arrays.copyOfRange(friends, offsets[index], offsets[index + 1]);
+        }
+    }
+
+    // A row as a slice of a sorted array, so reads never copy the CSR
+    private static final class Row {
+        final int[] array;
+        final int from;
+        final int to;
+
+        Row(int[] array, int from, int to) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+        }
+
+        int size() {
+            return to - from;
+        }
+    }
+
+    private static final Row EMPTY_ROW = new Row(NO_FRIENDS, 0, 0);
+
+    private final Supplier<Stream<int[]>> friendshipScan;
+    private final boolean enabled;
+    private final Object buildLock = new Object();
+    private volatile Snapshot snapshot; // null until built, and again after invalidate
+    private long generation; // Bumped by invalidate, so a build that raced with it is discarded
+
+    public FriendGraph(Supplier<Stream<int[]>> friendshipScan, boolean enabled) {
+        this.friendshipScan = friendshipScan;
+        this.enabled = enabled;
+    }
+
+    // True once built; when false the query methods below return null or -1 and callers go to the database
+    public boolean isBuilt() {
+        return snapshot != null;
+    }
+
+    // Sorted friend IDs, or null if the graph could not be built
+    public int[] getFriendIds(int studentId) {
+        Snapshot current = ensureBuilt();
+        if (current == null) {
+            return null;
+        }
+        Row row = rowOf(current, studentId);
+        return Arrays.copyOfRange(row.array, row.from, row.to);
+    }
+
+    // 1 if friends, 0 if not, -1 if the graph could not be built
+    public int areFriends(int studentId, int otherId) {
+        Snapshot current = ensureBuilt();
+        if (current == null) {
+            return -1;
+        }
+        Row row = rowOf(current, studentId);
+        return Arrays.binarySearch(row.array, row.from, row.to, otherId) >= 0 ? 1 : 0;
+    }
+
+    // Number of friends, or -1 if the graph could not be built
+    public int degree(int studentId) {
+        Snapshot current = ensureBuilt();
+        return current == null ? -1 : rowOf(current, studentId).size();
+    }
+
+    // Sorted IDs of the friends two students share, or null if the graph could not be built
+    public int[] getMutualFriendIds(int studentId, int otherId) {
+        Snapshot current = ensureBuilt();
+        if (current == null) {
+            return null;
+        }
+        return intersect(rowOf(current, studentId), rowOf(current, otherId));
+    }
+
+    // The friends of each of the student's friends, sorted, with one entry per connecting friend,
+    // so a student listed k times has k mutual friends with this one. Null if the graph could not be built.
+    public int[] getFriendsOfFriends(int studentId) {
+        Snapshot current = ensureBuilt();
+        if (current == null) {
+            return null;
+        }
+        Row friends = rowOf(current, studentId);
+        Row[] rows = new Row[friends.size()];
+        int total = 0;
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = rowOf(current, friends.array[friends.from + i]);
+            total += rows[i].size();
+        }
+        int[] result = new int[total];
+        int next = 0;
+        for (Row row : rows) {
+            System.arraycopy(row.array, row.from, result, next, row.size());
+            next += row.size();
+        }
+        return radixSort(result);
+    }
+
+    public synchronized void recordFriendship(int studentId, int otherId) {
+        Snapshot current = snapshot;
+        if (current == null || studentId == otherId) {
+            generation++;
+            return;
+        }
+        int[] first = current.row(studentId);
+        if (Arrays.binarySearch(first, otherId) >= 0) {
+            return;
+        }
+        IntHashMap<int[]> overrides = new IntHashMap<>(current.overrides);
+        overrides.put(studentId, withFriend(first, otherId));
+        overrides.put(otherId, withFriend(current.row(otherId), studentId));
+        publish(current, overrides, current.edges + 1);
+    }
+
+    public synchronized void recordUnfriended(int studentId, int otherId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            generation++;
+            return;
+        }
+        int[] first = current.row(studentId);
+        if (Arrays.binarySearch(first, otherId) < 0) {
+            return;
+        }
+        IntHashMap<int[]> overrides = new IntHashMap<>(current.overrides);
+        overrides.put(studentId, withoutFriend(first, otherId));
+        overrides.put(otherId, withoutFriend(current.row(otherId), studentId));
+        publish(current, overrides, current.edges - 1);
+    }
+
+    // Drop every friendship of a student, e.g. after removeAllFriendships or account deletion
+    public synchronized void recordAllUnfriended(int studentId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            generation++;
+            return;
+        }
+        int[] friends = current.row(studentId);
+        if (friends.length == 0) {
+            return;
+        }
+        IntHashMap<int[]> overrides = new IntHashMap<>(current.overrides);
+        for (int friendId : friends) {
+            overrides.put(friendId, withoutFriend(current.row(friendId), studentId));
+        }
+        overrides.put(studentId, NO_FRIENDS);
+        publish(current, overrides, current.edges - friends.length);
+    }
+
+    // Drop the graph after writes it cannot follow; it is rebuilt from the table on next use
+    public synchronized void invalidate() {
+        generation++;
+        snapshot = null;
+    }
+
+    @Override
+    public String toString() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return enabled ? "not built" : "off";
+        }
+        return current.edges + " friendships, " + current.overrides.size() + " rows pending compaction";
+    }
+
+    private static Row rowOf(Snapshot current, int studentId) {
+        int[] override = current.overrides.get(studentId);
+        if (override != null) {
+            return new Row(override, 0, override.length);
+        }
+        int index = Arrays.binarySearch(current.ids, studentId);
+        return index < 0 ? EMPTY_ROW : new Row(current.friends, current.offsets[index], current.offsets[index + 1]);
+    }
+
+    private void publish(Snapshot current, IntHashMap<int[]> overrides, long edges) {
+        if (overrides.size() > Math.max(MIN_OVERRIDES_BEFORE_COMPACTION, current.ids.length / 8)) {
+            snapshot = compact(current, overrides, edges);
+        } else {
+            snapshot = new Snapshot(current.ids, current.offsets, current.friends, overrides, edges);
+        }
+    }
+
+    // Fold the overrides into a new CSR
+    private static Snapshot compact(Snapshot current, IntHashMap<int[]> overrides, long edges) {
+        int[] overrideIds = overrides.keys();
+        int[] allIds = new int[current.ids.length + overrideIds.length];
+        int count = 0;
+        for (int id : current.ids) {
+            if (!overrides.containsKey(id)) {
+                allIds[count++] = id;
+            }
+        }
+        System.arraycopy(overrideIds, 0, allIds, count, overrideIds.length);
+        count += overrideIds.length;
+        Arrays.sort(allIds, 0, count);
+
+        Snapshot merged = new Snapshot(current.ids, current.offsets, current.friends, overrides, edges);
+        int[] ids = new int[count];
+        int[] offsets = new int[count + 1];
+        int[] friends = new int[(int) (edges * 2)];
+        int rows = 0;
+        int next = 0;
+        for (int i = 0; i < count; i++) {
+            Row row = rowOf(merged, allIds[i]);
+            if (row.size() == 0) {
+                continue;
+            }
+            ids[rows] = allIds[i];
+            offsets[rows] = next;
+            System.arraycopy(row.array, row.from, friends, next, row.size());
+            next += row.size();
+            rows++;
+        }
+        offsets[rows] = next;
+        return new Snapshot(Arrays.copyOf(ids, rows), Arrays.copyOf(offsets, rows + 1), friends,
+                new IntHashMap<>(), edges);
+    }
+
+    private Snapshot ensureBuilt() {
+        Snapshot current = snapshot;
+        if (current != null || !enabled) {
+            return current;
+        }
+        synchronized (buildLock) {
+            long buildGeneration;
+            synchronized (this) {
+                if (snapshot != null) {
+                    return snapshot;
+                }
+                buildGeneration = generation;
+            }
+            Snapshot built = scan();
+            synchronized (this) {
+                if (built == null || generation != buildGeneration) {
+                    return null;
+                }
+                snapshot = built;
+                Log.info("Friend graph built: " + built.edges + " friendships");
+                return built;
+            }
+        }
+    }
+
+    // Read every friendship in both directions as packed (student, friend) longs, sort, and lay out
+    private Snapshot scan() {
+        long[] pairs = new long[1024];
+        int count = 0;
+        try (Stream<int[]> friendships = friendshipScan.get()) {
+            Iterator<int[]> it = friendships.iterator();
+            while (it.hasNext()) {
+                int[] friendship = it.next();
+                if (friendship[0] == friendship[1]) {
+                    continue;
+                }
+                if (count + 2 > pairs.length) {
+                    pairs = Arrays.copyOf(pairs, pairs.length * 2);
+                }
+                pairs[count++] = pack(friendship[0], friendship[1]);
+                pairs[count++] = pack(friendship[1], friendship[0]);
+            }
+        } catch (RuntimeException e) {
+            Log.error("[Database Error] Failed to build friend graph: " + e.getMessage());
+            return null;
+        }
+        Arrays.sort(pairs, 0, count);
+
+        int[] ids = new int[count];
+        int[] offsets = new int[count + 1];
+        int[] friends = new int[count];
+        int rows = 0;
+        int next = 0;
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && pairs[i] == previous) {
+                continue; // The same friendship stored in both directions
+            }
+            previous = pairs[i];
+            int studentId = (int) (pairs[i] >> 32);
+            if (rows == 0 || ids[rows - 1] != studentId) {
+                ids[rows] = studentId;
+                offsets[rows] = next;
+                rows++;
+            }
+            friends[next++] = friendOf(pairs[i]);
+        }
+        offsets[rows] = next;
+        return new Snapshot(Arrays.copyOf(ids, rows), Arrays.copyOf(offsets, rows + 1),
+                Arrays.copyOf(friends, next), new IntHashMap<>(), next / 2);
+    }
+
+    // Two counting passes over 16-bit digits. A student with 500 friends has a few hundred thousand
+    // friends of friends, where this is several times faster than Arrays.sort; short arrays are not
+    // worth the digit counts.
+    private static int[] radixSort(int[] values) {
+        if (values.length < RADIX) {
+            Arrays.sort(values);
+            return values;
+        }
+        int[] buffer = new int[values.length];
+        int[] counts = new int[RADIX + 1];
+        for (int shift = 0; shift < 32; shift += 16) {
+            // Flip the sign bit on the high digit so negative IDs sort first
+            int flip = shift == 16 ? Integer.MIN_VALUE : 0;
+            Arrays.fill(counts, 0);
+            for (int value : values) {
+                counts[(((value ^ flip) >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            for (int i = 0; i < RADIX; i++) {
+                counts[i + 1] += counts[i];
+            }
+            for (int value : values) {
+                buffer[counts[((value ^ flip) >>> shift) & (RADIX - 1)]++] = value;
+            }
+            int[] swap = values;
+            values = buffer;
+            buffer = swap;
+        }
+        return values;
+    }
+
+    // IDs in both sorted arrays
+    static int[] intersect(int[] a, int[] b) {
+        return intersect(new Row(a, 0, a.length), new Row(b, 0, b.length));
+    }
+
+    // Merge when the rows are of similar length; otherwise binary-search the longer one from a moving
+    // lower bound, so a student with few friends is compared with a popular one in O(small log large)
+    private static int[] intersect(Row a, Row b) {
+        if (a.size() > b.size()) {
+            Row swap = a;
+            a = b;
+            b = swap;
+        }
+        int[] result = new int[a.size()];
+        int count = 0;
+        if ((long) a.size() * 8 < b.size()) {
+            int low = b.from;
+            for (int i = a.from; i < a.to && low < b.to; i++) {
+                int index = Arrays.binarySearch(b.array, low, b.to, a.array[i]);
+                if (index >= 0) {
+                    result[count++] = a.array[i];
+                    low = index + 1;
+                } else {
+                    low = -index - 1;
+                }
+            }
+        } else {
+            int i = a.from;
+            int j = b.from;
+            while (i < a.to && j < b.to) {
+                if (a.array[i] < b.array[j]) {
+                    i++;
+                } else if (a.array[i] > b.array[j]) {
+                    j++;
+                } else {
+                    result[count++] = a.array[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // Sorts by student, then friend, as signed ints: the high half is signed already, and the
+    // friend's sign bit is flipped so the unsigned low half orders negative IDs first
+    private static long pack(int studentId, int friendId) {
+        return ((long) studentId << 32) | ((friendId ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    private static int friendOf(long pair) {
+        return (int) pair ^ Integer.MIN_VALUE;
+    }
+
+    private static int[] withFriend(int[] friends, int friendId) {
+        int index = -Arrays.binarySearch(friends, friendId) - 1;
+        int[] updated = new int[friends.length + 1];
+        System.arraycopy(friends, 0, updated, 0, index);
+        updated[index] = friendId;
+        System.arraycopy(friends, index, updated, index + 1, friends.length - index);
+        return updated;
+    }
+
+    private static int[] withoutFriend(int[] friends, int friendId) {
+        int index = Arrays.binarySearch(friends, friendId);
+        if (index < 0) {
+            return friends;
+        }
+        int[] updated = new int[friends.length - 1];
+        System.arraycopy(friends, 0, updated, 0, index);
+        System.arraycopy(friends, index + 1, updated, index, friends.length - index - 1);
+        return updated;
+    }
+}
@@ -0,0 +1,129 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FriendGraphTest {
+
+    // passes when the graph matches a map of sets through adds, removals and compactions
+    @Test
+    public void matchesAdjacencySets() {
+        Random random = new Random(524);
+        Map<Integer, TreeSet<Integer>> expected = new HashMap<>();
+        List<int[]> table = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int a = random.nextInt(300);
+            int b = random.nextInt(300);
+            if (a != b) {
+                // Stored in either direction, sometimes twice
+                table.add(random.nextBoolean() ? new int[] { a, b } : new int[] { b, a });
+                expected.computeIfAbsent(a, k -> new TreeSet<>()).add(b);
+                expected.computeIfAbsent(b, k -> new TreeSet<>()).add(a);
+            }
+        }
+        FriendGraph graph = new FriendGraph(table::stream, true);
+        assertFalse(graph.isBuilt());
+        assertEquals(0, graph.degree(1000));
+        assertTrue(graph.isBuilt());
+
+        for (int i = 0; i < 5000; i++) {
+            int a = random.nextInt(300);
+            int b = random.nextInt(300);
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    graph.recordAllUnfriended(a);
+                    for (int friend : expected.getOrDefault(a, new TreeSet<>())) {
+                        expected.get(friend).remove(a);
+                    }
+                    expected.remove(a);
+                }
+                case 1, 2 -> {
+                    graph.recordUnfriended(a, b);
+                    expected.getOrDefault(a, new TreeSet<>()).remove(b);
+                    expected.getOrDefault(b, new TreeSet<>()).remove(a);
+                }
+                default -> {
+                    graph.recordFriendship(a, b);
+                    if (a != b) {
+                        expected.computeIfAbsent(a, k -> new TreeSet<>()).add(b);
+                        expected.computeIfAbsent(b, k -> new TreeSet<>()).add(a);
+                    }
+                }
+            }
+        }
+        for (int id = 0; id < 300; id++) {
+            int[] friends = expected.getOrDefault(id, new TreeSet<>()).stream().mapToInt(Integer::intValue).toArray();
+            assertArrayEquals(friends, graph.getFriendIds(id));
+            assertEquals(friends.length, graph.degree(id));
+            assertEquals(expected.getOrDefault(id, new TreeSet<>()).contains(7), graph.areFriends(id, 7) == 1);
+        }
+    }
+
+    // passes when friends of friends come back sorted with one entry per connecting friend,
+    // including past the size where they are radix sorted
+    @Test
+    public void friendsOfFriends() {
+        Random random = new Random(25);
+        List<int[]> table = new ArrayList<>();
+        for (int friend = 1; friend <= 400; friend++) {
+            table.add(new int[] { 0, friend });
+            for (int i = 0; i < 250; i++) {
+                table.add(new int[] { friend, 1000 + random.nextInt(5000) });
+            }
+        }
+        FriendGraph graph = new FriendGraph(table::stream, true);
+        int[] friendsOfFriends = graph.getFriendsOfFriends(0);
+        int[] expected = new int[friendsOfFriends.length];
+        int count = 0;
+        for (int friend = 1; friend <= 400; friend++) {
+            for (int friendOfFriend : graph.getFriendIds(friend)) {
+                expected[count++] = friendOfFriend;
+            }
+        }
+        assertEquals(expected.length, count);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, friendsOfFriends);
+
+        int other = friendsOfFriends[friendsOfFriends.length / 2];
+        int mutual = 0;
+        for (int id : friendsOfFriends) {
+            mutual += id == other ? 1 : 0;
+        }
+        assertEquals(mutual, graph.getMutualFriendIds(0, other).length);
+        assertArrayEquals(graph.getFriendIds(other), graph.getMutualFriendIds(0, other));
+    }
+
+    // passes when negative IDs come back in signed order from a built graph
+    @Test
+    public void negativeIdsSortAsSigned() {
+        List<int[]> table = List.of(new int[] { 5, 3 }, new int[] { 5, -2 }, new int[] { -7, 5 },
+                new int[] { 5, Integer.MIN_VALUE }, new int[] { -2, 3 });
+        FriendGraph graph = new FriendGraph(table::stream, true);
+        assertArrayEquals(new int[] { Integer.MIN_VALUE, -7, -2, 3 }, graph.getFriendIds(5));
+        assertEquals(1, graph.areFriends(5, -2));
+        assertEquals(1, graph.areFriends(-2, 5));
+        assertArrayEquals(new int[] { -2 }, graph.getMutualFriendIds(5, 3));
+    }
+
+    // passes when a disabled graph never scans the table and sends every question to the database
+    @Test
+    public void disabledGraphNeverBuilds() {
+        FriendGraph graph = new FriendGraph(() -> {
+            throw new AssertionError("scanned while disabled");
+        }, false);
+        graph.recordFriendship(1, 2);
+        assertNull(graph.getFriendIds(1));
+        assertEquals(-1, graph.areFriends(1, 2));
+        assertEquals(-1, graph.degree(1));
+        assertNull(graph.getMutualFriendIds(1, 2));
+        assertNull(graph.getFriendsOfFriends(1));
+        assertFalse(graph.isBuilt());
+        assertEquals("off", graph.toString());
+    }
+}
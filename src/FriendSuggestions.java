@@ -0,0 +1,157 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// "People you may know": ranks students by the mutual friends, active groups and tags they share
+// with one student. Each kind of evidence arrives as an array of student IDs with one entry per
+// connection (a student sharing three groups appears three times), so after sorting, the length
+// of each run is the count. The three arrays are then walked together in ID order and only the
+// best few candidates are kept, in a min-heap bounded at the requested size.
+public class FriendSuggestions {
+
+    private static final int MUTUAL_FRIEND_WEIGHT = 4;
+    private static final int SHARED_GROUP_WEIGHT = 2;
+    private static final int SHARED_TAG_WEIGHT = 1;
+
+    public static final class Suggestion {
+        private final int studentId;
+        private final int mutualFriends;
+        private final int sharedGroups;
+        private final int sharedTags;
+
+        Suggestion(int studentId, int mutualFriends, int sharedGroups, int sharedTags) {
+            this.studentId = studentId;
+            this.mutualFriends = mutualFriends;
+            this.sharedGroups = sharedGroups;
+            this.sharedTags = sharedTags;
+        }
+
+        public int getStudentId() {
+            return studentId;
+        }
+
+        public int getMutualFriends() {
+            return mutualFriends;
+        }
+
+        public int getSharedGroups() {
+            return sharedGroups;
+        }
+
+        public int getSharedTags() {
+            return sharedTags;
+        }
+
+        public int getScore() {
+            return score(mutualFriends, sharedGroups, sharedTags);
+        }
+
+        // e.g. "3 mutual friends, 1 shared group"
+        public String describe() {
+            List<String> reasons = new ArrayList<>();
+            if (mutualFriends > 0) {
+                reasons.add(mutualFriends + (mutualFriends == 1 ? " mutual friend" : " mutual friends"));
+            }
+            if (sharedGroups > 0) {
+                reasons.add(sharedGroups + (sharedGroups == 1 ? " shared group" : " shared groups"));
+            }
+            if (sharedTags > 0) {
+                reasons.add(sharedTags + (sharedTags == 1 ? " shared tag" : " shared tags"));
+            }
+            return String.join(", ", reasons);
+        }
+
+        @Override
+        public String toString() {
+            return "Suggestion[student=" + studentId + ", score=" + getScore() + ", " + describe() + "]";
+        }
+    }
+
+    // Highest score first, then most mutual friends, then lowest ID so the order is stable
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingInt(Suggestion::getScore).reversed()
+            .thenComparing(Comparator.comparingInt(Suggestion::getMutualFriends).reversed())
+            .thenComparingInt(Suggestion::getStudentId);
+
+    private FriendSuggestions() {
+    }
+
+    // Up to limit suggestions for studentId, best first. excludedIds (existing friends, blocks
+    // and pending requests either way) are never suggested. All four arrays are sorted in place.
+    public static List<Suggestion> rank(int studentId, int[] excludedIds, int[] friendsOfFriends,
+            int[] sharedGroupMembers, int[] sharedTagHolders, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        Arrays.sort(excludedIds);
+        Arrays.sort(friendsOfFriends);
+        Arrays.sort(sharedGroupMembers);
+        Arrays.sort(sharedTagHolders);
+
+        PriorityQueue<Suggestion> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        int f = 0;
+        int g = 0;
+        int t = 0;
+        int x = 0;
+        while (f < friendsOfFriends.length || g < sharedGroupMembers.length || t < sharedTagHolders.length) {
+            int candidate = Math.min(head(friendsOfFriends, f), Math.min(head(sharedGroupMembers, g),
+                    head(sharedTagHolders, t)));
+            int mutualFriends = runLength(friendsOfFriends, f, candidate);
+            int sharedGroups = runLength(sharedGroupMembers, g, candidate);
+            int sharedTags = runLength(sharedTagHolders, t, candidate);
+            f += mutualFriends;
+            g += sharedGroups;
+            t += sharedTags;
+
+            // The candidates ascend, so the exclusions are walked once alongside them
+            while (x < excludedIds.length && excludedIds[x] < candidate) {
+                x++;
+            }
+            if (candidate == studentId || (x < excludedIds.length && excludedIds[x] == candidate)) {
+                continue;
+            }
+            if (best.size() == limit && !beats(mutualFriends, sharedGroups, sharedTags, candidate, best.peek())) {
+                continue;
+            }
+            best.add(new Suggestion(candidate, mutualFriends, sharedGroups, sharedTags));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Suggestion> ranked = new ArrayList<>(best);
+        ranked.sort(BEST_FIRST);
+        return ranked;
+    }
+
+    private static int score(int mutualFriends, int sharedGroups, int sharedTags) {
+        return mutualFriends * MUTUAL_FRIEND_WEIGHT + sharedGroups * SHARED_GROUP_WEIGHT
+                + sharedTags * SHARED_TAG_WEIGHT;
+    }
+
+    // BEST_FIRST without building a Suggestion, since most candidates lose to the current worst
+    private static boolean beats(int mutualFriends, int sharedGroups, int sharedTags, int studentId,
+            Suggestion worst) {
+        int score = score(mutualFriends, sharedGroups, sharedTags);
+        if (score != worst.getScore()) {
+            return score > worst.getScore();
+        }
+        if (mutualFriends != worst.getMutualFriends()) {
+            return mutualFriends > worst.getMutualFriends();
+        }
+        return studentId < worst.getStudentId();
+    }
+
+    private static int head(int[] ids, int index) {
+        return index < ids.length ? ids[index] : Integer.MAX_VALUE;
+    }
+
+    private static int runLength(int[] ids, int from, int id) {
+        int end = from;
+        while (end < ids.length && ids[end] == id) {
+            end++;
+        }
+        return end - from;
+    }
+}
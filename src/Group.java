@@ -1,17 +1,32 @@
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class Group {
     private int id;
     private String name;
     private String description;
     private Date creationDate;
-    private List<Student> members;
-    private Map<Integer, Date> memberJoinDates; // StudentID -> JoinDate
-    private Map<Integer, Date> memberEndDates; // StudentID -> EndDate
+    private List<Student> members; // Insertion order, for listings
+    private IntHashMap<Student> membersById; // Same students, for membership tests by ID
+    private List<Student> membersView; // Read-only live view handed out by getMembers
+    private List<Student> activeMembers; // Read-only snapshot, null after a membership change
+    // Cached groups are shared between threads, so members, membersById, activeMembers and the
+    // date maps are only touched while holding this group's lock, as the member loader already is
+    // Membership dates as epoch millis by student ID; the getters hand out Date copies
+    private IntLongHashMap memberJoinDates;
+    private IntLongHashMap memberEndDates;
+    private volatile MemberLoader memberLoader; // Fetches members on first access when set
+    private boolean loadingMembers; // Guarded by this; lets the running loader call back in
+    private volatile int storedSize = -1; // Active member count stored with the group, if known
+
+    // Callback that fills in a group's members and membership dates on demand; returns false
+    // if the load failed, so the next access tries again
+    @FunctionalInterface
+    public interface MemberLoader {
+        boolean loadMembers(Group group);
+    }
 
     public Group(int id, String name, String description) {
         this.id = id;
@@ -19,8 +34,10 @@ public class Group {
         this.description = description;
         this.creationDate = new Date(); // Current date/time
         this.members = new ArrayList<>();
-        this.memberJoinDates = new HashMap<>();
-        this.memberEndDates = new HashMap<>();
+        this.membersById = new IntHashMap<>();
+        this.membersView = Collections.unmodifiableList(members);
+        this.memberJoinDates = new IntLongHashMap();
+        this.memberEndDates = new IntLongHashMap();
     }
 
     public int getID() {
@@ -55,83 +72,160 @@ public class Group {
         this.creationDate = creationDate;
     }
 
-    public List<Student> getMembers() {
-        return new ArrayList<>(members);
+    public void setMemberLoader(MemberLoader memberLoader) {
+        this.memberLoader = memberLoader;
+    }
+
+    public boolean areMembersLoaded() {
+        return memberLoader == null;
+    }
+
+    public void setStoredSize(int storedSize) {
+        this.storedSize = storedSize;
+    }
+
+    // Run the pending loader once; it may call addMember and the date setters freely
+    // Cached groups are shared between threads, so the first callers wait for one load
+    private void ensureMembersLoaded() {
+        if (memberLoader == null) {
+            return;
+        }
+        synchronized (this) {
+            MemberLoader loader = memberLoader;
+            if (loader == null || loadingMembers) {
+                return;
+            }
+            loadingMembers = true;
+            try {
+                if (loader.loadMembers(this)) {
+                    memberLoader = null;
+                }
+            } finally {
+                loadingMembers = false;
+            }
+        }
     }
 
-    public List<Student> getActiveMembers() {
-        List<Student> activeMembers = new ArrayList<>();
-        for (Student member : members) {
-            if (!memberEndDates.containsKey(member.getID())) {
-                activeMembers.add(member);
+    // Read-only and live: it follows later joins, so copy it before changing membership while
+    // iterating, and hold the group's lock while iterating if other threads may change it
+    public List<Student> getMembers() {
+        ensureMembersLoaded();
+        return membersView;
+    }
+
+    // Read-only snapshot, rebuilt only after membership changes
+    public synchronized List<Student> getActiveMembers() {
+        ensureMembersLoaded();
+        if (activeMembers == null) {
+            List<Student> active = new ArrayList<>();
+            for (Student member : members) {
+                if (!memberEndDates.containsKey(member.getID())) {
+                    active.add(member);
+                }
             }
+            activeMembers = Collections.unmodifiableList(active);
         }
         return activeMembers;
     }
 
-    public boolean addMember(Student student) {
-        if (student == null || members.contains(student)) {
+    private static Date toDate(IntLongHashMap dates, int studentId) {
+        long millis = dates.get(studentId, Long.MIN_VALUE);
+        return millis == Long.MIN_VALUE ? null : new Date(millis);
+    }
+
+    // Members are matched by student ID, so a separately loaded copy of a member is still found
+    private boolean hasMember(Student student) {
+        return student != null && membersById.containsKey(student.getID());
+    }
+
+    public synchronized boolean addMember(Student student) {
+        ensureMembersLoaded();
+        if (student == null || hasMember(student)) {
             return false;
         }
         members.add(student);
-        memberJoinDates.put(student.getID(), new Date());
+        membersById.put(student.getID(), student);
+        memberJoinDates.put(student.getID(), System.currentTimeMillis());
+        activeMembers = null;
         return true;
     }
 
-    public boolean removeMember(Student student) {
-        if (student == null || !members.contains(student)) {
+    public synchronized boolean removeMember(Student student) {
+        ensureMembersLoaded();
+        if (!hasMember(student)) {
             return false;
         }
-        memberEndDates.put(student.getID(), new Date());
+        memberEndDates.put(student.getID(), System.currentTimeMillis());
+        activeMembers = null;
         return true;
     }
 
-    public Date getMemberJoinDate(Student student) {
-        if (student == null || !members.contains(student)) {
+    public synchronized Date getMemberJoinDate(Student student) {
+        ensureMembersLoaded();
+        if (!hasMember(student)) {
             return null;
         }
-        return memberJoinDates.get(student.getID());
+        return toDate(memberJoinDates, student.getID());
     }
 
-    public Date getMemberEndDate(Student student) {
-        if (student == null || !members.contains(student)) {
+    public synchronized Date getMemberEndDate(Student student) {
+        ensureMembersLoaded();
+        if (!hasMember(student)) {
             return null;
         }
-        return memberEndDates.get(student.getID());
+        return toDate(memberEndDates, student.getID());
     }
 
-    public boolean setMemberEndDate(Student student, Date endDate) {
-        if (student == null || !members.contains(student)) {
+    public synchronized boolean setMemberEndDate(Student student, Date endDate) {
+        ensureMembersLoaded();
+        if (!hasMember(student)) {
             return false;
         }
         if (endDate == null) {
             memberEndDates.remove(student.getID());
         } else {
-            memberEndDates.put(student.getID(), endDate);
+            memberEndDates.put(student.getID(), endDate.getTime());
         }
+        activeMembers = null;
         return true;
     }
 
-    public boolean isMemberActive(Student student) {
-        if (student == null || !members.contains(student)) {
+    public synchronized boolean isMemberActive(Student student) {
+        ensureMembersLoaded();
+        if (!hasMember(student)) {
             return false;
         }
         return !memberEndDates.containsKey(student.getID());
     }
 
-    public void setMemberJoinDate(Student student, Date joinDate) {
-        if (student != null && members.contains(student)) {
-            memberJoinDates.put(student.getID(), joinDate);
+    public synchronized void setMemberJoinDate(Student student, Date joinDate) {
+        ensureMembersLoaded();
+        if (!hasMember(student)) {
+            return;
+        }
+        if (joinDate == null) {
+            memberJoinDates.remove(student.getID());
+        } else {
+            memberJoinDates.put(student.getID(), joinDate.getTime());
         }
     }
 
-    public int getSize() {
+    public synchronized int getSize() {
+        ensureMembersLoaded();
         return members.size();
     }
 
-    public boolean isMember(Student student) {
-        return members.stream()
-                .anyMatch(member -> member.getID() == student.getID());
+    // Active member count without loading members when the stored count is available
+    public int getActiveMemberCount() {
+        if (memberLoader != null && storedSize >= 0) {
+            return storedSize;
+        }
+        return getActiveMembers().size();
+    }
+
+    public synchronized boolean isMember(Student student) {
+        ensureMembersLoaded();
+        return hasMember(student);
     }
 
     @Override
@@ -151,6 +245,6 @@ public class Group {
 
     @Override
     public String toString() {
-        return name + " (" + members.size() + " members)";
+        return name + " (" + getActiveMemberCount() + " members)";
     }
 }
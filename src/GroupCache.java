@@ -0,0 +1,58 @@
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Groups already loaded for one backend, shared by every DatabaseHandler on it and indexed by ID
+// and by normalized name so single lookups skip the full table load. DatabaseHandler drops a
+// group whenever its membership changes, whichever handler made the change.
+public class GroupCache {
+
+    private final Map<Integer, Group> byId = new ConcurrentHashMap<>();
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, so a load that raced with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public Group getById(int groupId) {
+        return byId.get(groupId);
+    }
+
+    public Group getByName(String groupName) {
+        Integer groupId = idsByName.get(normalizeName(groupName));
+        return groupId != null ? byId.get(groupId) : null;
+    }
+
+    // Read before loading from the database and pass to put with the loaded group
+    public long generation() {
+        return generation.get();
+    }
+
+    public synchronized void put(Group group, long loadedAt) {
+        if (generation.get() != loadedAt) {
+            return;
+        }
+        Group previous = byId.put(group.getID(), group);
+        if (previous != null && !normalizeName(previous.getName()).equals(normalizeName(group.getName()))) {
+            idsByName.remove(normalizeName(previous.getName()), group.getID());
+        }
+        idsByName.put(normalizeName(group.getName()), group.getID());
+    }
+
+    public synchronized void invalidate(int groupId) {
+        generation.incrementAndGet();
+        Group group = byId.remove(groupId);
+        if (group != null) {
+            idsByName.remove(normalizeName(group.getName()), groupId);
+        }
+    }
+
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        byId.clear();
+        idsByName.clear();
+    }
+
+    static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,27 +1,61 @@
-import java.util.ArrayList;
 import java.util.List;
 
 public class GroupHandler {
 
     private final DatabaseHandler dbHandler;
-    private List<Group> groups;
+    // Shared with every handler on the backend; DatabaseHandler drops groups whose membership changes
+    private final GroupCache groupCache;
 
     public GroupHandler(DatabaseHandler dbHandler) {
         this.dbHandler = dbHandler;
-        this.groups = new ArrayList<>();
+        this.groupCache = dbHandler.getGroupCache();
     }
 
     public List<Group> getAllGroups() {
-        return dbHandler.getAllGroups();
+        long loadedAt = groupCache.generation();
+        List<Group> groups = dbHandler.getAllGroups();
+        if (groups != null) {
+            for (Group group : groups) {
+                groupCache.put(group, loadedAt);
+            }
+        }
+        return groups;
     }
 
+    // Names are matched ignoring case and surrounding spaces, like the database's unique group names
     public Group findGroupByName(String groupName) {
-        return dbHandler.findGroupByName(groupName);
+        if (groupName == null) {
+            return null;
+        }
+        Group group = groupCache.getByName(groupName);
+        if (group != null) {
+            return group;
+        }
+        long loadedAt = groupCache.generation();
+        group = dbHandler.findGroupByName(groupName.trim());
+        if (group != null) {
+            groupCache.put(group, loadedAt);
+        }
+        return group;
+    }
+
+    public Group getGroupByID(int groupID) {
+        Group group = groupCache.getById(groupID);
+        if (group != null) {
+            return group;
+        }
+        long loadedAt = groupCache.generation();
+        group = dbHandler.getGroupByID(groupID);
+        if (group != null) {
+            groupCache.put(group, loadedAt);
+        }
+        return group;
     }
 
     public boolean addGroup(Group group) {
+        long loadedAt = groupCache.generation();
         if (dbHandler.addGroup(group)) {
-            groups.add(group);
+            groupCache.put(group, loadedAt);
             return true;
         }
         return false;
@@ -35,17 +69,11 @@ public class GroupHandler {
         return dbHandler.addMemberToGroup(groupId, student.getID());
     }
 
-    private Group getGroupById(int groupId) {
-        return groups.stream()
-                .filter(group -> group.getID() == groupId)
-                .findFirst()
-                .orElse(null);
-    }
-
-    public Group getGroupByID(int groupID) {
-        return getAllGroups().stream()
-                .filter(group -> group.getID() == groupID)
-                .findFirst()
-                .orElse(null);
+    public boolean leaveGroup(Group group, Student student) {
+        if (group == null || student == null) {
+            System.err.println("Cannot leave group: group and student are required");
+            return false;
+        }
+        return dbHandler.leaveGroup(group, student);
     }
 }
@@ -0,0 +1,47 @@
+import java.sql.SQLException;
+
+// Hands out IDs from blocks reserved up front (hi/lo style), so an insert does not
+// need its own MAX(id) query. Blocks are carved from a persistent high-water mark,
+// so several app instances sharing a database never hand out the same ID.
+public class IdAllocator {
+
+    @FunctionalInterface
+    public interface BlockReserver {
+        // Reserve blockSize consecutive IDs for the sequence and return the first one
+        int reserveBlock(String sequenceName, int blockSize) throws SQLException;
+    }
+
+    private final String sequenceName;
+    private final int blockSize;
+    private final BlockReserver reserver;
+    private int nextId = 0;
+    private int blockEnd = 0; // Exclusive end of the current block
+
+    public IdAllocator(String sequenceName, int blockSize, BlockReserver reserver) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("ID block size must be at least 1.");
+        }
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+        this.reserver = reserver;
+    }
+
+    public synchronized int nextId() throws SQLException {
+        if (nextId >= blockEnd) {
+            int start = reserver.reserveBlock(sequenceName, blockSize);
+            nextId = start;
+            blockEnd = start + blockSize;
+        }
+        return nextId++;
+    }
+
+    // Forget the current block, e.g. after the backing table was recreated
+    public synchronized void reset() {
+        nextId = 0;
+        blockEnd = 0;
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+}
@@ -0,0 +1,1399 @@
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Database backend that keeps every table in memory, for running the app and benchmarks
+// without a MySQL server. Each table is a primary-key map plus the secondary indexes its
+// queries need, and the behaviour (keys, cascades, returned objects) mirrors MySQLHandler
+// and createDB.sql. Nothing is persisted between runs.
+public class InMemoryDatabase extends Database implements DatabaseOperations {
+
+    // Rows mirroring the createDB.sql tables
+    private static final class StudentRow {
+        final int id;
+        String userName;
+        String passwordHash;
+        String year;
+        boolean anonymous;
+
+        StudentRow(int id, String userName, String passwordHash, String year) {
+            this.id = id;
+            this.userName = userName;
+            this.passwordHash = passwordHash;
+            this.year = year;
+        }
+    }
+
+    private static final class GroupRow {
+        final int id;
+        final String name;
+        final String description;
+        final Date creationDate;
+
+        GroupRow(int id, String name, String description, Date creationDate) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.creationDate = creationDate;
+        }
+    }
+
+    private static final class MembershipRow {
+        final int groupId;
+        final int studentId;
+        final Date joinDate;
+        Date endDate;
+
+        MembershipRow(int groupId, int studentId, Date joinDate) {
+            this.groupId = groupId;
+            this.studentId = studentId;
+            this.joinDate = joinDate;
+        }
+    }
+
+    private static final class PostRow {
+        final int id;
+        String content;
+        final int ownerId;
+        final Date postDate;
+        final boolean anonymous;
+
+        PostRow(int id, String content, int ownerId, Date postDate, boolean anonymous) {
+            this.id = id;
+            this.content = content;
+            this.ownerId = ownerId;
+            this.postDate = postDate;
+            this.anonymous = anonymous;
+        }
+    }
+
+    private static final class TagRow {
+        final int id;
+        String name;
+        String description;
+
+        TagRow(int id, String name, String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+        }
+    }
+
+    private static final class FriendRequestRow {
+        final int fromUserId;
+        final int toUserId;
+        String status = STATUS_PENDING;
+
+        FriendRequestRow(int fromUserId, int toUserId) {
+            this.fromUserId = fromUserId;
+            this.toUserId = toUserId;
+        }
+    }
+
+    private static final String STATUS_PENDING = "PENDING";
+    private static final String STATUS_ACCEPTED = "ACCEPTED";
+    private static final String STATUS_DECLINED = "DECLINED";
+
+    // Readers share the lock; every write takes it exclusively
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Primary keys (insertion order matches auto-increment order)
+    private final Map<Integer, StudentRow> students = new LinkedHashMap<>();
+    private final Map<Integer, GroupRow> groups = new LinkedHashMap<>();
+    private final Map<Integer, PostRow> posts = new LinkedHashMap<>();
+    private final Map<Integer, TagRow> tags = new LinkedHashMap<>();
+    private final Map<Integer, FriendRequestRow> friendRequests = new LinkedHashMap<>();
+
+    // Secondary indexes
+    private final Map<String, Set<Integer>> studentIdsByUsername = new HashMap<>();
+    private final Map<String, Integer> groupIdsByName = new HashMap<>();
+    private final Map<String, Integer> tagIdsByName = new HashMap<>();
+    private final Map<Integer, Map<Integer, MembershipRow>> membershipsByGroup = new HashMap<>(); // groupID -> studentID -> row
+    private final Map<Integer, Map<Integer, MembershipRow>> membershipsByStudent = new HashMap<>(); // studentID -> groupID -> row
+    private final Map<Integer, Set<Integer>> postIdsByOwner = new HashMap<>();
+    private final Map<Integer, Set<Integer>> postIdsByGroup = new HashMap<>();
+    private final Map<Integer, Set<Integer>> groupIdsByPost = new HashMap<>();
+    private final Map<Integer, Set<Integer>> tagIdsByStudent = new HashMap<>();
+    private final Map<Integer, Set<Integer>> studentIdsByTag = new HashMap<>();
+    private final Map<Integer, Set<Integer>> requestIdsBySender = new HashMap<>();
+    private final Map<Integer, Set<Integer>> requestIdsByRecipient = new HashMap<>();
+    private final Map<Integer, Set<Integer>> friendIdsByStudent = new HashMap<>();
+    private final Map<Integer, Set<Integer>> blockedIdsByBlocker = new HashMap<>();
+    private final Map<Integer, Set<Integer>> blockerIdsByBlocked = new HashMap<>();
+    private final Map<Integer, Set<Integer>> bookmarkedPostIdsByStudent = new HashMap<>();
+    private final Map<Integer, Set<Integer>> bookmarkingStudentIdsByPost = new HashMap<>();
+
+    private int nextStudentId;
+    private int nextGroupId;
+    private int nextPostId;
+    private int nextTagId;
+    private int nextRequestId;
+
+    public InMemoryDatabase(String dbName) {
+        super(dbName);
+        loadInitialData();
+        Log.debug(() -> "InMemoryDatabase instance created for database: " + dbName);
+    }
+
+    @Override
+    public synchronized void connect() {
+        if (!isConnected) {
+            isConnected = true;
+            Log.info("Connected to in-memory database: " + dbName);
+        } else {
+            Log.info("Already connected to in-memory database: " + dbName);
+        }
+    }
+
+    @Override
+    public synchronized void disconnect() {
+        if (isConnected) {
+            isConnected = false;
+            Log.info("Disconnected from in-memory database: " + dbName);
+        } else {
+            Log.info("Already disconnected from in-memory database: " + dbName);
+        }
+    }
+
+    // There is no SQL engine behind this backend
+    @Override
+    public PreparedStatement prepareStatement(String query) throws SQLException {
+        throw new SQLException("Prepared statements are not supported by the in-memory database.");
+    }
+
+    @Override
+    public boolean executeUpdate(String sql) {
+        logError("Raw SQL is not supported by the in-memory database: " + sql);
+        return false;
+    }
+
+    // Drop everything and reload the rows createDB.sql inserts
+    @Override
+    public boolean resetDatabase() {
+        lock.writeLock().lock();
+        try {
+            Log.info("Resetting in-memory database...");
+            students.clear();
+            groups.clear();
+            posts.clear();
+            tags.clear();
+            friendRequests.clear();
+            studentIdsByUsername.clear();
+            groupIdsByName.clear();
+            tagIdsByName.clear();
+            membershipsByGroup.clear();
+            membershipsByStudent.clear();
+            postIdsByOwner.clear();
+            postIdsByGroup.clear();
+            groupIdsByPost.clear();
+            tagIdsByStudent.clear();
+            studentIdsByTag.clear();
+            requestIdsBySender.clear();
+            requestIdsByRecipient.clear();
+            friendIdsByStudent.clear();
+            blockedIdsByBlocker.clear();
+            blockerIdsByBlocked.clear();
+            bookmarkedPostIdsByStudent.clear();
+            bookmarkingStudentIdsByPost.clear();
+            loadInitialData();
+            Log.info("Database reset complete!");
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void loadInitialData() {
+        nextStudentId = 1;
+        nextGroupId = 1;
+        nextPostId = 1;
+        nextTagId = 1;
+        nextRequestId = 1;
+
+        insertStudent(1001, "testuser1", hashPassword("testuser1"), "Senior");
+        insertGroup(new GroupRow(1, "tg1", "td1", new Date()));
+        insertGroup(new GroupRow(2, "tg2", "td2", new Date()));
+    }
+
+    // ---- Students ----
+
+    @Override
+    public boolean addStudent(Student student, String password) {
+        lock.writeLock().lock();
+        try {
+            insertStudent(nextStudentId, student.getEmail(), hashPassword(password), student.getYear());
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int addStudents(List<Student> students, List<String> passwords) {
+        if (students.size() != passwords.size()) {
+            throw new IllegalArgumentException("Each student needs exactly one password.");
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < students.size(); i++) {
+                Student student = students.get(i);
+                insertStudent(nextStudentId, student.getEmail(), hashPassword(passwords.get(i)), student.getYear());
+            }
+            return students.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insertStudent(int id, String userName, String passwordHash, String year) {
+        students.put(id, new StudentRow(id, userName, passwordHash, year));
+        indexSet(studentIdsByUsername, indexKey(userName)).add(id);
+        nextStudentId = Math.max(nextStudentId, id + 1);
+    }
+
+    @Override
+    public Student getStudentByUsername(String username) {
+        lock.readLock().lock();
+        try {
+            StudentRow row = findStudentRow(username);
+            return row != null ? newStudent(row, row.userName) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Student getStudentById(int userId) {
+        lock.readLock().lock();
+        try {
+            StudentRow row = students.get(userId);
+            return row != null ? newTaggedStudent(row) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Student> getStudentsByIds(int[] studentIds) {
+        lock.readLock().lock();
+        try {
+            List<Student> result = new ArrayList<>(studentIds.length);
+            for (int studentId : studentIds) {
+                StudentRow row = students.get(studentId);
+                if (row != null) {
+                    result.add(newTaggedStudent(row));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Student newTaggedStudent(StudentRow row) {
+        Student student = newStudent(row, row.userName);
+        for (int tagId : indexSetOrEmpty(tagIdsByStudent, row.id)) {
+            TagRow tag = tags.get(tagId);
+            student.addTag(new Tag(tag.id, tag.name, tag.description));
+        }
+        return student;
+    }
+
+    // userName holds the student's email address
+    @Override
+    public Student findStudentByEmail(String email) {
+        return getStudentByUsername(email);
+    }
+
+    @Override
+    public boolean updateStudent(int id, String newName, String newYear) {
+        lock.writeLock().lock();
+        try {
+            StudentRow row = students.get(id);
+            if (row == null) {
+                return false;
+            }
+            removeFromIndex(studentIdsByUsername, indexKey(row.userName), id);
+            row.userName = newName;
+            row.year = newYear;
+            indexSet(studentIdsByUsername, indexKey(newName)).add(id);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean removeStudent(int id) {
+        return deleteStudent(id);
+    }
+
+    @Override
+    public boolean deleteStudent(int studentId) {
+        lock.writeLock().lock();
+        try {
+            StudentRow row = students.remove(studentId);
+            if (row == null) {
+                return false;
+            }
+            removeFromIndex(studentIdsByUsername, indexKey(row.userName), studentId);
+
+            // Same cascades as the foreign keys in createDB.sql
+            for (int postId : new ArrayList<>(indexSetOrEmpty(postIdsByOwner, studentId))) {
+                deletePostRow(postId);
+            }
+            for (MembershipRow membership : new ArrayList<>(membershipsOf(membershipsByStudent, studentId).values())) {
+                deleteMembershipRow(membership.groupId, studentId);
+            }
+            for (int tagId : indexSetOrEmpty(tagIdsByStudent, studentId)) {
+                removeFromIndex(studentIdsByTag, tagId, studentId);
+            }
+            tagIdsByStudent.remove(studentId);
+            Set<Integer> requestIds = new LinkedHashSet<>(indexSetOrEmpty(requestIdsBySender, studentId));
+            requestIds.addAll(indexSetOrEmpty(requestIdsByRecipient, studentId));
+            for (int requestId : requestIds) {
+                deleteFriendRequestRow(requestId);
+            }
+            deleteAllFriendships(studentId);
+            for (int blockedId : indexSetOrEmpty(blockedIdsByBlocker, studentId)) {
+                removeFromIndex(blockerIdsByBlocked, blockedId, studentId);
+            }
+            blockedIdsByBlocker.remove(studentId);
+            for (int blockerId : indexSetOrEmpty(blockerIdsByBlocked, studentId)) {
+                removeFromIndex(blockedIdsByBlocker, blockerId, studentId);
+            }
+            blockerIdsByBlocked.remove(studentId);
+            for (int postId : indexSetOrEmpty(bookmarkedPostIdsByStudent, studentId)) {
+                removeFromIndex(bookmarkingStudentIdsByPost, postId, studentId);
+            }
+            bookmarkedPostIdsByStudent.remove(studentId);
+            Log.debug(() -> "Deleting student with ID: " + studentId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Student authenticateStudent(String username, String password) {
+        String passwordHash = hashPassword(password);
+        lock.readLock().lock();
+        try {
+            for (int id : indexSetOrEmpty(studentIdsByUsername, indexKey(username))) {
+                StudentRow row = students.get(id);
+                if (row.passwordHash.equals(passwordHash)) {
+                    Student student = newStudent(row, username);
+
+                    // Load student's groups
+                    List<Group> studentGroups = new ArrayList<>();
+                    for (MembershipRow membership : membershipsOf(membershipsByStudent, id).values()) {
+                        if (isActive(membership)) {
+                            GroupRow group = groups.get(membership.groupId);
+                            studentGroups.add(new Group(group.id, group.name, group.description));
+                        }
+                    }
+                    student.setGroups(studentGroups);
+                    return student;
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean doesUsernameExist(String username) {
+        lock.readLock().lock();
+        try {
+            return !indexSetOrEmpty(studentIdsByUsername, indexKey(username)).isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStudentPassword(int studentId, String newPassword) {
+        String passwordHash = hashPassword(newPassword);
+        lock.writeLock().lock();
+        try {
+            StudentRow row = students.get(studentId);
+            if (row == null) {
+                return false;
+            }
+            row.passwordHash = passwordHash;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean toggleAnonymousMode(int userId, boolean isAnonymous) {
+        lock.writeLock().lock();
+        try {
+            StudentRow row = students.get(userId);
+            if (row == null) {
+                return false;
+            }
+            row.anonymous = isAnonymous;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Student> getAllStudents() {
+        lock.readLock().lock();
+        try {
+            List<Student> result = new ArrayList<>(students.size());
+            for (StudentRow row : students.values()) {
+                result.add(newStudent(row, row.userName));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rows are already in memory, so this streams a snapshot taken under the read lock
+    @Override
+    public Stream<Student> streamAllStudents() {
+        return getAllStudents().stream();
+    }
+
+    // ---- Groups and memberships ----
+
+    @Override
+    public List<Group> getAllGroups() {
+        lock.readLock().lock();
+        try {
+            List<GroupRow> rows = new ArrayList<>(groups.values());
+            Map<Integer, Integer> sizes = new HashMap<>();
+            for (GroupRow row : rows) {
+                sizes.put(row.id, activeMemberCount(row.id));
+            }
+            // Same order as SQL_SELECT_ALL_GROUPS
+            rows.sort((a, b) -> sizes.get(a.id).equals(sizes.get(b.id))
+                    ? Integer.compare(a.id, b.id)
+                    : Integer.compare(sizes.get(b.id), sizes.get(a.id)));
+
+            List<Group> result = new ArrayList<>(rows.size());
+            for (GroupRow row : rows) {
+                result.add(newLazyGroup(row, sizes.get(row.id)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Group findGroupByName(String groupName) {
+        lock.readLock().lock();
+        try {
+            Integer groupId = groupIdsByName.get(indexKey(groupName));
+            return groupId != null ? newLazyGroup(groups.get(groupId), activeMemberCount(groupId)) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Group getGroupByID(int groupId) {
+        lock.readLock().lock();
+        try {
+            GroupRow row = groups.get(groupId);
+            return row != null ? newLazyGroup(row, activeMemberCount(groupId)) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean addGroup(Group group) {
+        lock.writeLock().lock();
+        try {
+            if (groupIdsByName.containsKey(indexKey(group.getName()))) {
+                Log.debug(() -> "Group with name '" + group.getName() + "' already exists");
+                return false;
+            }
+            group.setID(nextGroupId);
+            GroupRow row = new GroupRow(nextGroupId, group.getName(), group.getDescription(), new Date());
+            insertGroup(row);
+            group.setCreationDate(row.creationDate);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insertGroup(GroupRow row) {
+        groups.put(row.id, row);
+        groupIdsByName.put(indexKey(row.name), row.id);
+        nextGroupId = Math.max(nextGroupId, row.id + 1);
+    }
+
+    @Override
+    public boolean addMemberToGroup(int groupId, int studentId) {
+        lock.writeLock().lock();
+        try {
+            if (isStudentInGroupLocked(studentId, groupId)) {
+                Log.debug(() -> "Student " + studentId + " is already a member of group " + groupId);
+                return false;
+            }
+            return insertMembership(groupId, studentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean joinGroup(int studentId, int groupId) {
+        lock.writeLock().lock();
+        try {
+            return insertMembership(groupId, studentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The membership primary key also covers ended memberships, as in MySQL
+    private boolean insertMembership(int groupId, int studentId) {
+        if (!groups.containsKey(groupId) || !students.containsKey(studentId)
+                || membershipsOf(membershipsByGroup, groupId).containsKey(studentId)) {
+            return false;
+        }
+        MembershipRow row = new MembershipRow(groupId, studentId, new Date());
+        membershipsByGroup.computeIfAbsent(groupId, k -> new LinkedHashMap<>()).put(studentId, row);
+        membershipsByStudent.computeIfAbsent(studentId, k -> new LinkedHashMap<>()).put(groupId, row);
+        return true;
+    }
+
+    @Override
+    public boolean leaveGroup(int studentId, int groupId) {
+        lock.writeLock().lock();
+        try {
+            return deleteMembershipRow(groupId, studentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean leaveGroup(Group group, Student student) {
+        return leaveGroup(student.getID(), group.getID());
+    }
+
+    @Override
+    public boolean removeMemberFromGroup(int groupId, int studentId) {
+        return leaveGroup(studentId, groupId);
+    }
+
+    private boolean deleteMembershipRow(int groupId, int studentId) {
+        Map<Integer, MembershipRow> byGroup = membershipsByGroup.get(groupId);
+        if (byGroup == null || byGroup.remove(studentId) == null) {
+            return false;
+        }
+        if (byGroup.isEmpty()) {
+            membershipsByGroup.remove(groupId);
+        }
+        Map<Integer, MembershipRow> byStudent = membershipsByStudent.get(studentId);
+        byStudent.remove(groupId);
+        if (byStudent.isEmpty()) {
+            membershipsByStudent.remove(studentId);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean updateMembershipEndDate(int studentId, int groupId, java.sql.Date endDate) {
+        lock.writeLock().lock();
+        try {
+            MembershipRow row = membershipsOf(membershipsByGroup, groupId).get(studentId);
+            if (row == null) {
+                return false;
+            }
+            row.endDate = endDate;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isStudentInGroup(int studentId, int groupId) {
+        lock.readLock().lock();
+        try {
+            return isStudentInGroupLocked(studentId, groupId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isStudentInGroupLocked(int studentId, int groupId) {
+        MembershipRow row = membershipsOf(membershipsByGroup, groupId).get(studentId);
+        return row != null && isActive(row);
+    }
+
+    private boolean loadGroupMembers(Group group) {
+        lock.readLock().lock();
+        try {
+            for (MembershipRow membership : membershipsOf(membershipsByGroup, group.getID()).values()) {
+                StudentRow row = students.get(membership.studentId);
+                Student member = new Student(row.id, null, row.userName, row.year,
+                        new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+                group.addMember(member);
+                group.setMemberJoinDate(member, membership.joinDate);
+                if (membership.endDate != null) {
+                    group.setMemberEndDate(member, membership.endDate);
+                }
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- Posts ----
+
+    @Override
+    public boolean createPost(Post post) {
+        lock.writeLock().lock();
+        try {
+            int ownerId = post.getOwner().getID();
+            if (!students.containsKey(ownerId)) {
+                Log.error("Error creating post: owner " + ownerId + " does not exist");
+                return false;
+            }
+            post.setID(nextPostId++);
+            PostRow row = new PostRow(post.getID(), post.getContent(), ownerId, new Date(),
+                    post.getOwner().isAnonymous());
+            posts.put(row.id, row);
+            indexSet(postIdsByOwner, ownerId).add(row.id);
+
+            // If post has a group, associate it with the group
+            if (post.getGroup() != null) {
+                return insertPostGroup(row.id, post.getGroup().getID());
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean editPost(Post post) {
+        lock.writeLock().lock();
+        try {
+            PostRow row = posts.get(post.getID());
+            if (row == null) {
+                return false;
+            }
+            row.content = post.getContent();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean addPostToGroup(int postId, int groupId) {
+        lock.writeLock().lock();
+        try {
+            return insertPostGroup(postId, groupId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean insertPostGroup(int postId, int groupId) {
+        if (!posts.containsKey(postId) || !groups.containsKey(groupId)
+                || !indexSet(groupIdsByPost, postId).add(groupId)) {
+            return false;
+        }
+        indexSet(postIdsByGroup, groupId).add(postId);
+        return true;
+    }
+
+    @Override
+    public boolean deletePost(int postId) {
+        lock.writeLock().lock();
+        try {
+            Log.debug(() -> "Deleting post with ID: " + postId);
+            return deletePostRow(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean removePost(int postId) {
+        return deletePost(postId);
+    }
+
+    private boolean deletePostRow(int postId) {
+        PostRow row = posts.remove(postId);
+        if (row == null) {
+            return false;
+        }
+        removeFromIndex(postIdsByOwner, row.ownerId, postId);
+        for (int groupId : indexSetOrEmpty(groupIdsByPost, postId)) {
+            removeFromIndex(postIdsByGroup, groupId, postId);
+        }
+        groupIdsByPost.remove(postId);
+        for (int studentId : indexSetOrEmpty(bookmarkingStudentIdsByPost, postId)) {
+            removeFromIndex(bookmarkedPostIdsByStudent, studentId, postId);
+        }
+        bookmarkingStudentIdsByPost.remove(postId);
+        return true;
+    }
+
+    // Newest first, as in SQL_GET_GROUP_POSTS
+    @Override
+    public List<Post> getGroupPosts(int groupId) {
+        lock.readLock().lock();
+        try {
+            GroupRow groupRow = groups.get(groupId);
+            Group group = groupRow != null ? newLazyGroup(groupRow, activeMemberCount(groupId)) : null;
+            List<PostRow> rows = new ArrayList<>();
+            for (int postId : indexSetOrEmpty(postIdsByGroup, groupId)) {
+                rows.add(posts.get(postId));
+            }
+            rows.sort((a, b) -> a.postDate.equals(b.postDate)
+                    ? Integer.compare(b.id, a.id)
+                    : b.postDate.compareTo(a.postDate));
+
+            List<Post> result = new ArrayList<>(rows.size());
+            for (PostRow row : rows) {
+                result.add(newPost(row, group));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public PostPage getGroupPostsPage(int groupId, PostPage.Cursor cursor, int pageSize,
+            PostPage.Direction direction) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1.");
+        }
+        PostPage.Direction effectiveDirection = cursor == null ? PostPage.Direction.OLDER : direction;
+        lock.readLock().lock();
+        try {
+            GroupRow groupRow = groups.get(groupId);
+            Group group = groupRow != null ? newLazyGroup(groupRow, activeMemberCount(groupId)) : null;
+            List<PostRow> rows = new ArrayList<>();
+            for (int postId : indexSetOrEmpty(postIdsByGroup, groupId)) {
+                PostRow row = posts.get(postId);
+                if (cursor == null || (effectiveDirection == PostPage.Direction.OLDER
+                        ? cursor.isOlder(row.postDate, row.id)
+                        : cursor.isNewer(row.postDate, row.id))) {
+                    rows.add(row);
+                }
+            }
+            // Walk away from the cursor, as the SQL pages do
+            Comparator<PostRow> newestFirst = (a, b) -> a.postDate.equals(b.postDate)
+                    ? Integer.compare(b.id, a.id)
+                    : b.postDate.compareTo(a.postDate);
+            rows.sort(effectiveDirection == PostPage.Direction.OLDER ? newestFirst : newestFirst.reversed());
+
+            List<Post> fetched = new ArrayList<>();
+            for (PostRow row : rows.subList(0, Math.min(rows.size(), pageSize + 1))) {
+                fetched.add(newPost(row, group));
+            }
+            return PostPage.fromFetched(fetched, pageSize, cursor, effectiveDirection);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Post> getStudentPosts(int studentId) {
+        lock.readLock().lock();
+        try {
+            List<Post> result = new ArrayList<>();
+            for (int postId : indexSetOrEmpty(postIdsByOwner, studentId)) {
+                result.add(newPost(posts.get(postId), null));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- Tags ----
+
+    @Override
+    public boolean addTag(Tag tag) {
+        lock.writeLock().lock();
+        try {
+            // Tag names are unique
+            if (tagIdsByName.containsKey(indexKey(tag.getName()))) {
+                logError("Failed to add tag: duplicate name '" + tag.getName() + "'");
+                return false;
+            }
+            TagRow row = new TagRow(nextTagId++, tag.getName(), tag.getDescription());
+            tags.put(row.id, row);
+            tagIdsByName.put(indexKey(row.name), row.id);
+            tag.setID(row.id);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean containsTag(Tag tag) {
+        lock.readLock().lock();
+        try {
+            Integer tagId = tagIdsByName.get(indexKey(tag.getName()));
+            if (tagId == null) {
+                return false;
+            }
+            String description = tags.get(tagId).description;
+            return description != null && tag.getDescription() != null
+                    && indexKey(description).equals(indexKey(tag.getDescription()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateTag(Tag tag) {
+        lock.writeLock().lock();
+        try {
+            TagRow row = tags.get(tag.getID());
+            if (row == null) {
+                return false;
+            }
+            Integer existing = tagIdsByName.get(indexKey(tag.getName()));
+            if (existing != null && existing != row.id) {
+                return false;
+            }
+            tagIdsByName.remove(indexKey(row.name));
+            row.name = tag.getName();
+            row.description = tag.getDescription();
+            tagIdsByName.put(indexKey(row.name), row.id);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean removeTag(Tag tag) {
+        lock.writeLock().lock();
+        try {
+            TagRow row = tags.remove(tag.getID());
+            if (row == null) {
+                return false;
+            }
+            tagIdsByName.remove(indexKey(row.name));
+            for (int studentId : indexSetOrEmpty(studentIdsByTag, row.id)) {
+                removeFromIndex(tagIdsByStudent, studentId, row.id);
+            }
+            studentIdsByTag.remove(row.id);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Tag> getAllTags() {
+        lock.readLock().lock();
+        try {
+            List<Tag> result = new ArrayList<>(tags.size());
+            for (TagRow row : tags.values()) {
+                result.add(new Tag(row.id, row.name, row.description));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<Tag> streamAllTags() {
+        return getAllTags().stream();
+    }
+
+    @Override
+    public boolean addTagToStudent(int studentId, int tagId) {
+        lock.writeLock().lock();
+        try {
+            if (indexSetOrEmpty(tagIdsByStudent, studentId).contains(tagId)) {
+                // Tag already exists for this student, consider it a success
+                return true;
+            }
+            if (!students.containsKey(studentId) || !tags.containsKey(tagId)) {
+                return false;
+            }
+            indexSet(tagIdsByStudent, studentId).add(tagId);
+            indexSet(studentIdsByTag, tagId).add(studentId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean removeTagFromStudent(int studentId, int tagId) {
+        lock.writeLock().lock();
+        try {
+            removeFromIndex(studentIdsByTag, tagId, studentId);
+            return removeFromIndex(tagIdsByStudent, studentId, tagId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Integer> getStudentTagIds(int studentId) {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(indexSetOrEmpty(tagIdsByStudent, studentId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int[] getSharedGroupMemberIds(int studentId) {
+        lock.readLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>();
+            for (MembershipRow mine : membershipsOf(membershipsByStudent, studentId).values()) {
+                if (!isActive(mine)) {
+                    continue;
+                }
+                for (MembershipRow other : membershipsOf(membershipsByGroup, mine.groupId).values()) {
+                    if (other.studentId != studentId && isActive(other)) {
+                        ids.add(other.studentId);
+                    }
+                }
+            }
+            return ids.stream().mapToInt(Integer::intValue).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int[] getSharedTagStudentIds(int studentId) {
+        lock.readLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>();
+            for (int tagId : indexSetOrEmpty(tagIdsByStudent, studentId)) {
+                for (int otherId : indexSetOrEmpty(studentIdsByTag, tagId)) {
+                    if (otherId != studentId) {
+                        ids.add(otherId);
+                    }
+                }
+            }
+            return ids.stream().mapToInt(Integer::intValue).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int[] getBlockedOrRequestedIds(int studentId) {
+        lock.readLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>(indexSetOrEmpty(blockedIdsByBlocker, studentId));
+            ids.addAll(indexSetOrEmpty(blockerIdsByBlocked, studentId));
+            for (int requestId : indexSetOrEmpty(requestIdsBySender, studentId)) {
+                FriendRequestRow row = friendRequests.get(requestId);
+                if (STATUS_PENDING.equals(row.status)) {
+                    ids.add(row.toUserId);
+                }
+            }
+            for (int requestId : indexSetOrEmpty(requestIdsByRecipient, studentId)) {
+                FriendRequestRow row = friendRequests.get(requestId);
+                if (STATUS_PENDING.equals(row.status)) {
+                    ids.add(row.fromUserId);
+                }
+            }
+            return ids.stream().mapToInt(Integer::intValue).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- Friends ----
+
+    @Override
+    public boolean sendFriendRequest(int fromUserId, int toUserId) {
+        lock.writeLock().lock();
+        try {
+            if (!students.containsKey(fromUserId) || !students.containsKey(toUserId)) {
+                return false;
+            }
+            int requestId = nextRequestId++;
+            friendRequests.put(requestId, new FriendRequestRow(fromUserId, toUserId));
+            indexSet(requestIdsBySender, fromUserId).add(requestId);
+            indexSet(requestIdsByRecipient, toUserId).add(requestId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean acceptFriendRequest(int requestId) {
+        return setRequestStatus(requestId, STATUS_ACCEPTED);
+    }
+
+    @Override
+    public boolean declineFriendRequest(int requestId) {
+        return setRequestStatus(requestId, STATUS_DECLINED);
+    }
+
+    private boolean setRequestStatus(int requestId, String status) {
+        lock.writeLock().lock();
+        try {
+            FriendRequestRow row = friendRequests.get(requestId);
+            if (row == null) {
+                return false;
+            }
+            row.status = status;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean acceptFriendRequest(int requesterId, int accepterId) {
+        lock.writeLock().lock();
+        try {
+            if (!resolvePendingRequests(requesterId, accepterId, STATUS_ACCEPTED)) {
+                return false;
+            }
+            // Then add the friendship
+            if (indexSetOrEmpty(friendIdsByStudent, requesterId).contains(accepterId)) {
+                return false;
+            }
+            indexSet(friendIdsByStudent, requesterId).add(accepterId);
+            indexSet(friendIdsByStudent, accepterId).add(requesterId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean declineFriendRequest(int requesterId, int declinerId) {
+        lock.writeLock().lock();
+        try {
+            return resolvePendingRequests(requesterId, declinerId, STATUS_DECLINED);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean resolvePendingRequests(int fromUserId, int toUserId, String status) {
+        boolean updated = false;
+        for (int requestId : indexSetOrEmpty(requestIdsBySender, fromUserId)) {
+            FriendRequestRow row = friendRequests.get(requestId);
+            if (row.toUserId == toUserId && STATUS_PENDING.equals(row.status)) {
+                row.status = status;
+                updated = true;
+            }
+        }
+        return updated;
+    }
+
+    private void deleteFriendRequestRow(int requestId) {
+        FriendRequestRow row = friendRequests.remove(requestId);
+        if (row != null) {
+            removeFromIndex(requestIdsBySender, row.fromUserId, requestId);
+            removeFromIndex(requestIdsByRecipient, row.toUserId, requestId);
+        }
+    }
+
+    @Override
+    public boolean hasPendingFriendRequest(int senderId, int receiverId) {
+        lock.readLock().lock();
+        try {
+            for (int requestId : indexSetOrEmpty(requestIdsBySender, senderId)) {
+                FriendRequestRow row = friendRequests.get(requestId);
+                if (row.toUserId == receiverId && STATUS_PENDING.equals(row.status)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Student> getFriendRequests(int userId) {
+        return getIncomingFriendRequests(userId);
+    }
+
+    @Override
+    public List<Student> getIncomingFriendRequests(int studentId) {
+        lock.readLock().lock();
+        try {
+            List<Student> result = new ArrayList<>();
+            for (int requestId : indexSetOrEmpty(requestIdsByRecipient, studentId)) {
+                FriendRequestRow row = friendRequests.get(requestId);
+                if (STATUS_PENDING.equals(row.status)) {
+                    result.add(newListedStudent(students.get(row.fromUserId)));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Student> getFriends(int userId) {
+        lock.readLock().lock();
+        try {
+            return listStudents(indexSetOrEmpty(friendIdsByStudent, userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean removeFriend(int userId, int friendId) {
+        lock.writeLock().lock();
+        try {
+            removeFromIndex(friendIdsByStudent, friendId, userId);
+            return removeFromIndex(friendIdsByStudent, userId, friendId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean removeAllFriendships(int userId) {
+        lock.writeLock().lock();
+        try {
+            return deleteAllFriendships(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Each friendship once, from a snapshot taken under the read lock
+    @Override
+    public Stream<int[]> streamAllFriendships() {
+        lock.readLock().lock();
+        try {
+            List<int[]> friendships = new ArrayList<>();
+            for (Map.Entry<Integer, Set<Integer>> entry : friendIdsByStudent.entrySet()) {
+                for (int friendId : entry.getValue()) {
+                    if (entry.getKey() < friendId) {
+                        friendships.add(new int[] { entry.getKey(), friendId });
+                    }
+                }
+            }
+            return friendships.stream();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean deleteAllFriendships(int userId) {
+        Set<Integer> friendIds = friendIdsByStudent.remove(userId);
+        if (friendIds == null) {
+            return false;
+        }
+        for (int friendId : friendIds) {
+            removeFromIndex(friendIdsByStudent, friendId, userId);
+        }
+        return true;
+    }
+
+    // ---- Blocking ----
+
+    @Override
+    public boolean blockUser(int blockerId, int blockedId) {
+        lock.writeLock().lock();
+        try {
+            if (!students.containsKey(blockerId) || !students.containsKey(blockedId)
+                    || !indexSet(blockedIdsByBlocker, blockerId).add(blockedId)) {
+                return false;
+            }
+            indexSet(blockerIdsByBlocked, blockedId).add(blockerId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean unblockUser(int blockerId, int blockedId) {
+        lock.writeLock().lock();
+        try {
+            removeFromIndex(blockerIdsByBlocked, blockedId, blockerId);
+            return removeFromIndex(blockedIdsByBlocker, blockerId, blockedId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isUserBlocked(int blockerId, int blockedId) {
+        lock.readLock().lock();
+        try {
+            return indexSetOrEmpty(blockedIdsByBlocker, blockerId).contains(blockedId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Student> getBlockedUsers(int userId) {
+        lock.readLock().lock();
+        try {
+            return listStudents(indexSetOrEmpty(blockedIdsByBlocker, userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- Bookmarks ----
+
+    @Override
+    public boolean bookmarkPost(int userId, int postId) {
+        lock.writeLock().lock();
+        try {
+            if (!students.containsKey(userId) || !posts.containsKey(postId)
+                    || !indexSet(bookmarkedPostIdsByStudent, userId).add(postId)) {
+                return false;
+            }
+            indexSet(bookmarkingStudentIdsByPost, postId).add(userId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Post> getBookmarkedPosts(int userId) {
+        lock.readLock().lock();
+        try {
+            List<Post> result = new ArrayList<>();
+            for (int postId : indexSetOrEmpty(bookmarkedPostIdsByStudent, userId)) {
+                result.add(newPost(posts.get(postId), null));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- Helpers ----
+
+    // MySQL's default collation compares names case-insensitively, so the name indexes do too
+    private static String indexKey(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static <K> Set<Integer> indexSet(Map<K, Set<Integer>> index, K key) {
+        return index.computeIfAbsent(key, k -> new LinkedHashSet<>());
+    }
+
+    private static <K> Set<Integer> indexSetOrEmpty(Map<K, Set<Integer>> index, K key) {
+        Set<Integer> values = index.get(key);
+        return values != null ? values : Collections.emptySet();
+    }
+
+    private static <K> boolean removeFromIndex(Map<K, Set<Integer>> index, K key, int value) {
+        Set<Integer> values = index.get(key);
+        if (values == null || !values.remove(value)) {
+            return false;
+        }
+        if (values.isEmpty()) {
+            index.remove(key);
+        }
+        return true;
+    }
+
+    private static Map<Integer, MembershipRow> membershipsOf(Map<Integer, Map<Integer, MembershipRow>> index, int key) {
+        Map<Integer, MembershipRow> rows = index.get(key);
+        return rows != null ? rows : Collections.emptyMap();
+    }
+
+    // Same as Group and the SQL backends: a membership is active until an end date is recorded
+    private static boolean isActive(MembershipRow membership) {
+        return membership.endDate == null;
+    }
+
+    private int activeMemberCount(int groupId) {
+        int count = 0;
+        for (MembershipRow membership : membershipsOf(membershipsByGroup, groupId).values()) {
+            if (isActive(membership)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private StudentRow findStudentRow(String username) {
+        Set<Integer> ids = indexSetOrEmpty(studentIdsByUsername, indexKey(username));
+        return ids.isEmpty() ? null : students.get(ids.iterator().next());
+    }
+
+    // Same shape as MySQLHandler's student lookups: userName doubles as the email
+    private static Student newStudent(StudentRow row, String email) {
+        return new Student(row.id, email, row.userName, row.year,
+                new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
+
+    // Same shape as MySQLHandler.mapResultSetToStudentList
+    private static Student newListedStudent(StudentRow row) {
+        return new Student(row.id, null, row.userName, row.year,
+                new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
+
+    private List<Student> listStudents(Set<Integer> ids) {
+        List<Student> result = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            result.add(newListedStudent(students.get(id)));
+        }
+        return result;
+    }
+
+    private Post newPost(PostRow row, Group group) {
+        Student owner = newStudent(students.get(row.ownerId), students.get(row.ownerId).userName);
+        owner.setAnonymous(row.anonymous);
+        Post post = new Post(row.id, row.content, owner, group);
+        post.setAnonymous(row.anonymous);
+        post.setPostDate(row.postDate);
+        return post;
+    }
+
+    // Members are loaded on first access, like MySQLHandler's group lookups
+    private Group newLazyGroup(GroupRow row, int activeMembers) {
+        Group group = new Group(row.id, row.name, row.description);
+        group.setCreationDate(row.creationDate);
+        group.setStoredSize(activeMembers);
+        group.setMemberLoader(this::loadGroupMembers);
+        return group;
+    }
+}
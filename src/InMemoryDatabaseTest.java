@@ -0,0 +1,434 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class InMemoryDatabaseTest {
+
+    public InMemoryDatabase database;
+    public DatabaseHandler dbHandler;
+
+    @Before
+    public void init() {
+        database = new InMemoryDatabase("StudentDB");
+        database.connect();
+        dbHandler = new DatabaseHandler(database);
+    }
+
+    private Student addStudent(String email, String password) {
+        Student student = new Student(0, email, email, "Senior", null, null, null);
+        assertTrue(dbHandler.addStudent(student, password));
+        return dbHandler.getStudentByUsername(email);
+    }
+
+    // passes when the rows inserted by createDB.sql are present
+    @Test
+    public void initialDataLoaded() {
+        assertTrue(dbHandler.doesUsernameExist("testuser1"));
+        assertNotNull(dbHandler.authenticateStudent("testuser1", "testuser1"));
+        assertNotNull(dbHandler.findGroupByName("tg1"));
+        assertEquals(2, dbHandler.getAllGroups().size());
+    }
+
+    // passes when students are found by username and authenticated by password
+    @Test
+    public void addAndAuthenticateStudent() {
+        Student bob = addStudent("bob@ilstu.edu", "secret");
+        assertNotNull(bob);
+        assertEquals(1002, bob.getID());
+        assertNotNull(dbHandler.authenticateStudent("bob@ilstu.edu", "secret"));
+        assertNull(dbHandler.authenticateStudent("bob@ilstu.edu", "wrong"));
+
+        assertTrue(dbHandler.updateStudent(bob.getID(), "robert@ilstu.edu", "Junior"));
+        assertFalse(dbHandler.doesUsernameExist("bob@ilstu.edu"));
+        assertEquals("Junior", dbHandler.getStudentByUsername("robert@ilstu.edu").getYear());
+    }
+
+    // passes when cached student lookups are shared across handlers and dropped on writes
+    @Test
+    public void studentCacheInvalidation() {
+        Student bob = addStudent("bob@ilstu.edu", "secret");
+        DatabaseHandler otherHandler = new DatabaseHandler(database);
+        assertSame(dbHandler.getStudentCache(), otherHandler.getStudentCache());
+
+        assertEquals("Senior", otherHandler.getStudentById(bob.getID()).getYear());
+        otherHandler.getStudentById(bob.getID()).setYear("Changed");
+        assertEquals("Senior", otherHandler.getStudentById(bob.getID()).getYear());
+        assertEquals(bob.getID(), dbHandler.findStudentByEmail("BOB@ilstu.edu").getID());
+        assertTrue(dbHandler.getStudentCache().getHitRatio() > 0);
+
+        assertTrue(dbHandler.updateStudent(bob.getID(), "robert@ilstu.edu", "Junior"));
+        assertEquals("Junior", otherHandler.getStudentById(bob.getID()).getYear());
+        assertNull(otherHandler.getStudentByUsername("bob@ilstu.edu"));
+
+        assertTrue(dbHandler.deleteStudent(bob.getID()));
+        assertNull(otherHandler.getStudentById(bob.getID()));
+    }
+
+    // passes when the username filter answers misses locally but never hides a registered name
+    @Test
+    public void usernameFilter() {
+        // Off by default, since it only follows this process's writes
+        assertFalse(dbHandler.doesUsernameExist("nobody@ilstu.edu"));
+        assertFalse(dbHandler.getUsernameFilter().isBuilt());
+        assertTrue(dbHandler.doesUsernameExist("TestUser1"));
+
+        UsernameFilter filter = new UsernameFilter(() -> database.streamAllStudents().map(Student::getEmail), true);
+        assertTrue(filter.isDefinitelyAbsent("nobody@ilstu.edu"));
+        assertTrue(filter.isBuilt());
+        assertFalse(filter.isDefinitelyAbsent("TestUser1"));
+
+        addStudent("bob@ilstu.edu", "secret");
+        filter.recordAdded("bob@ilstu.edu");
+        assertFalse(filter.isDefinitelyAbsent("BOB@ilstu.edu"));
+        assertEquals(2, dbHandler.addStudents(
+                Arrays.asList(new Student(0, "amy@ilstu.edu", "amy", "Junior", null, null, null),
+                        new Student(0, "cal@ilstu.edu", "cal", "Senior", null, null, null)),
+                Arrays.asList("a", "c")));
+        assertNotNull(dbHandler.getStudentByUsername("cal@ilstu.edu"));
+        assertTrue(filter.isDefinitelyAbsent("dan@ilstu.edu"));
+
+        // An empty table is scanned once, not on every lookup
+        int[] scans = new int[1];
+        UsernameFilter empty = new UsernameFilter(() -> {
+            scans[0]++;
+            return Stream.empty();
+        }, true);
+        assertTrue(empty.isDefinitelyAbsent("amy@ilstu.edu"));
+        assertTrue(empty.isDefinitelyAbsent("cal@ilstu.edu"));
+        assertEquals(1, scans[0]);
+        empty.recordAdded("amy@ilstu.edu");
+        assertFalse(empty.isDefinitelyAbsent("amy@ilstu.edu"));
+    }
+
+    // passes when a session resolves the current student until it is closed or the password changes
+    @Test
+    public void sessions() {
+        Student bob = addStudent("bob@ilstu.edu", "secret");
+        assertNull(dbHandler.openSession("bob@ilstu.edu", "wrong"));
+        String token = dbHandler.openSession("bob@ilstu.edu", "secret");
+        assertNotNull(token);
+        assertEquals(bob.getID(), dbHandler.getSessionStudent(token).getID());
+
+        assertTrue(dbHandler.toggleAnonymousMode(bob.getID(), true));
+        assertTrue(dbHandler.getSessionStudent(token).isAnonymous());
+
+        // Membership writes reach the session's group list
+        assertTrue(dbHandler.joinGroup(bob.getID(), 1));
+        assertEquals("tg1", dbHandler.getSessionStudent(token).getGroups().get(0).getName());
+        assertTrue(dbHandler.leaveGroup(bob.getID(), 1));
+        assertTrue(dbHandler.getSessionStudent(token).getGroups().isEmpty());
+
+        dbHandler.closeSession(token);
+        assertNull(dbHandler.getSessionStudent(token));
+
+        token = dbHandler.openSession("bob@ilstu.edu", "secret");
+        assertTrue(dbHandler.updateStudentPassword(bob.getID(), "changed"));
+        assertNull(dbHandler.getSessionStudent(token));
+    }
+
+    // passes when group membership indexes stay consistent through join and leave
+    @Test
+    public void groupMembership() {
+        Student bob = addStudent("bob@ilstu.edu", "secret");
+        Group group = new Group(0, "IT326", "project class");
+        assertTrue(dbHandler.addGroup(group));
+        assertFalse(dbHandler.addGroup(new Group(0, "it326", "duplicate")));
+
+        assertTrue(dbHandler.addMemberToGroup(group.getID(), bob.getID()));
+        assertFalse(dbHandler.addMemberToGroup(group.getID(), bob.getID()));
+        assertTrue(dbHandler.isStudentInGroup(bob.getID(), group.getID()));
+
+        Group loaded = dbHandler.getGroupByID(group.getID());
+        assertEquals(1, loaded.getActiveMemberCount());
+        assertEquals(1, loaded.getMembers().size());
+        // Membership is by student ID, so a separately loaded copy still counts
+        Student copy = dbHandler.getStudentById(bob.getID());
+        assertTrue(loaded.isMemberActive(copy));
+        assertNotNull(loaded.getMemberJoinDate(copy));
+        assertFalse(loaded.addMember(copy));
+
+        // Active members are a cached read-only snapshot, replaced when membership changes
+        List<Student> active = loaded.getActiveMembers();
+        assertSame(active, loaded.getActiveMembers());
+        assertTrue(loaded.removeMember(copy));
+        assertTrue(loaded.getActiveMembers().isEmpty());
+        assertEquals(1, active.size());
+        assertEquals(1, loaded.getMembers().size());
+        assertEquals("IT326", dbHandler.getAllGroups().get(0).getName());
+
+        assertEquals(1, dbHandler.authenticateStudent("bob@ilstu.edu", "secret").getGroups().size());
+        assertTrue(dbHandler.leaveGroup(bob.getID(), group.getID()));
+        assertFalse(dbHandler.isStudentInGroup(bob.getID(), group.getID()));
+        assertFalse(dbHandler.leaveGroup(bob.getID(), group.getID()));
+    }
+
+    // passes when groups cached by GroupHandler are reloaded after membership writes that bypass it
+    @Test
+    public void groupCacheInvalidation() {
+        Student bob = addStudent("bob@ilstu.edu", "secret");
+        GroupHandler groupHandler = new GroupHandler(dbHandler);
+        Group cached = groupHandler.findGroupByName(" TG1 ");
+        assertSame(cached, groupHandler.getGroupByID(cached.getID()));
+        int members = cached.getMembers().size();
+
+        assertTrue(new DatabaseHandler(database).joinGroup(bob.getID(), cached.getID()));
+        Group joined = groupHandler.getGroupByID(cached.getID());
+        assertNotSame(cached, joined);
+        assertEquals(members + 1, joined.getMembers().size());
+
+        assertTrue(dbHandler.leaveGroup(bob.getID(), cached.getID()));
+        assertFalse(groupHandler.findGroupByName("tg1").isMember(bob));
+        groupHandler.getGroupByID(cached.getID());
+        assertTrue(dbHandler.deleteStudent(bob.getID()));
+        assertNotSame(joined, groupHandler.getGroupByID(cached.getID()));
+    }
+
+    // passes when posts are listed per group, newest first, and cascade with their owner
+    @Test
+    public void postsAndCascades() {
+        Student bob = addStudent("bob@ilstu.edu", "secret");
+        Student amy = addStudent("amy@ilstu.edu", "secret");
+        Group group = dbHandler.findGroupByName("tg1");
+
+        Post first = new Post(0, "first", bob, group);
+        Post second = new Post(0, "second", bob, group);
+        assertTrue(dbHandler.createPost(first));
+        assertTrue(dbHandler.createPost(second));
+        assertTrue(dbHandler.bookmarkPost(amy.getID(), first.getID()));
+
+        List<Post> posts = dbHandler.getGroupPosts(group.getID());
+        assertEquals(2, posts.size());
+        assertEquals("second", posts.get(0).getContent());
+        assertEquals(1, dbHandler.getBookmarkedPosts(amy.getID()).size());
+
+        assertTrue(dbHandler.deleteStudent(bob.getID()));
+        assertTrue(dbHandler.getGroupPosts(group.getID()).isEmpty());
+        assertTrue(dbHandler.getBookmarkedPosts(amy.getID()).isEmpty());
+        assertNull(dbHandler.getStudentByUsername("bob@ilstu.edu"));
+    }
+
+    // passes when keyset pages walk back and forth over a group's posts without gaps or repeats
+    @Test
+    public void groupPostPages() {
+        Student bob = addStudent("bob@ilstu.edu", "secret");
+        Group group = dbHandler.findGroupByName("tg1");
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(dbHandler.createPost(new Post(0, "post" + i, bob, group)));
+        }
+
+        PostPage first = dbHandler.getGroupPostsPage(group.getID(), null, 2, PostPage.Direction.OLDER);
+        assertEquals("post5", first.getPosts().get(0).getContent());
+        assertTrue(first.hasOlder());
+        assertFalse(first.hasNewer());
+
+        PostPage second = dbHandler.getGroupPostsPage(group.getID(), first.getOlderCursor(), 2,
+                PostPage.Direction.OLDER);
+        assertEquals("post3", second.getPosts().get(0).getContent());
+        PostPage last = dbHandler.getGroupPostsPage(group.getID(), second.getOlderCursor(), 2,
+                PostPage.Direction.OLDER);
+        assertEquals(1, last.getPosts().size());
+        assertFalse(last.hasOlder());
+
+        PostPage back = dbHandler.getGroupPostsPage(group.getID(), second.getNewerCursor(), 2,
+                PostPage.Direction.NEWER);
+        assertEquals("post5", back.getPosts().get(0).getContent());
+        assertEquals("post4", back.getPosts().get(1).getContent());
+        assertFalse(back.hasNewer());
+    }
+
+    // passes when friend requests, friendships and blocks follow the MySQL flow
+    @Test
+    public void friendsAndBlocks() {
+        Student bob = addStudent("bob@ilstu.edu", "secret");
+        Student amy = addStudent("amy@ilstu.edu", "secret");
+
+        assertTrue(dbHandler.sendFriendRequest(bob.getID(), amy.getID()));
+        assertTrue(dbHandler.hasPendingFriendRequest(bob.getID(), amy.getID()));
+        assertEquals(1, dbHandler.getIncomingFriendRequests(amy.getID()).size());
+        assertFalse(dbHandler.areFriends(bob.getID(), amy.getID()));
+        assertTrue(dbHandler.getFriendGraph().isBuilt());
+
+        assertTrue(dbHandler.acceptFriendRequest(bob.getID(), amy.getID()));
+        assertFalse(dbHandler.hasPendingFriendRequest(bob.getID(), amy.getID()));
+        assertEquals(amy.getID(), dbHandler.getFriends(bob.getID()).get(0).getID());
+        assertEquals(bob.getID(), dbHandler.getFriends(amy.getID()).get(0).getID());
+        assertTrue(dbHandler.areFriends(amy.getID(), bob.getID()));
+        assertEquals(1, dbHandler.getFriendCount(bob.getID()));
+
+        assertTrue(dbHandler.removeFriend(amy.getID(), bob.getID()));
+        assertTrue(dbHandler.getFriends(bob.getID()).isEmpty());
+        assertFalse(dbHandler.areFriends(bob.getID(), amy.getID()));
+
+        assertTrue(dbHandler.blockUser(bob.getID(), amy.getID()));
+        assertFalse(dbHandler.blockUser(bob.getID(), amy.getID()));
+        assertTrue(dbHandler.isUserBlocked(bob.getID(), amy.getID()));
+        assertTrue(dbHandler.unblockUser(bob.getID(), amy.getID()));
+        assertFalse(dbHandler.isUserBlocked(bob.getID(), amy.getID()));
+
+        // In-object relationships match students by ID, so separately loaded copies are recognised
+        bob.sendFriendRequest(amy);
+        assertTrue(amy.hasFriendRequestFrom(bob.copy()));
+        amy.acceptFriendRequest(bob);
+        assertTrue(amy.isFriendsWith(bob.copy()));
+        assertTrue(bob.isFriendsWith(amy));
+        bob.blockUser(amy);
+        assertTrue(bob.hasBlocked(amy.copy()));
+        assertFalse(amy.isFriendsWith(bob.copy()));
+        assertEquals(bob, dbHandler.getStudentById(bob.getID()));
+
+        // Students not saved yet all have ID 0, so they only match themselves
+        Student unsavedA = new Student(0, "a@ilstu.edu", "a", "Junior", null, null, null);
+        Student unsavedB = new Student(0, "b@ilstu.edu", "b", "Junior", null, null, null);
+        assertNotEquals(unsavedA, unsavedB);
+        assertEquals(unsavedA, unsavedA);
+        assertEquals(2, new HashSet<>(Arrays.asList(unsavedA, unsavedB)).size());
+    }
+
+    // passes when friend lists come from the friend graph and student cache, with no friend query
+    // and at most one batch load of the friends' rows
+    @Test
+    public void friendListsFromGraph() {
+        int[] friendQueries = new int[1];
+        List<int[]> batches = new ArrayList<>();
+        InMemoryDatabase counting = new InMemoryDatabase("StudentDB") {
+            @Override
+            public List<Student> getFriends(int userId) {
+                friendQueries[0]++;
+                return super.getFriends(userId);
+            }
+
+            @Override
+            public List<Student> getStudentsByIds(int[] studentIds) {
+                batches.add(studentIds);
+                return super.getStudentsByIds(studentIds);
+            }
+        };
+        counting.connect();
+        database = counting;
+        dbHandler = new DatabaseHandler(counting);
+        Student bob = addStudent("bob@ilstu.edu", "secret");
+        Student amy = addStudent("amy@ilstu.edu", "secret");
+        Student cal = addStudent("cal@ilstu.edu", "secret");
+        befriend(bob, amy);
+        befriend(bob, cal);
+        dbHandler.getStudentById(amy.getID());
+
+        assertEquals(Arrays.asList(amy, cal), dbHandler.getFriends(bob.getID()));
+        assertEquals(1, batches.size());
+        assertArrayEquals(new int[] { cal.getID() }, batches.get(0));
+        assertEquals(Arrays.asList(amy, cal), dbHandler.getFriends(bob.getID()));
+        assertEquals(1, batches.size());
+        assertEquals(Arrays.asList(bob), dbHandler.getFriends(cal.getID()));
+        assertEquals(Arrays.asList(bob), dbHandler.getFriends(amy.getID()));
+        assertEquals(2, batches.size());
+        assertEquals(0, friendQueries[0]);
+    }
+
+    // passes when suggestions rank mutual friends over shared groups and tags, skipping friends,
+    // blocks either way and pending requests either way
+    @Test
+    public void friendSuggestions() {
+        Student bob = addStudent("bob@ilstu.edu", "secret");
+        Student amy = addStudent("amy@ilstu.edu", "secret");
+        Student cal = addStudent("cal@ilstu.edu", "secret");
+        Student dan = addStudent("dan@ilstu.edu", "secret");
+        Student eve = addStudent("eve@ilstu.edu", "secret");
+        Student fay = addStudent("fay@ilstu.edu", "secret");
+        befriend(bob, amy);
+        befriend(bob, eve);
+        befriend(amy, cal);
+        befriend(eve, cal);
+        befriend(amy, dan);
+
+        Group group = new Group(0, "IT326", "project class");
+        assertTrue(dbHandler.addGroup(group));
+        assertTrue(dbHandler.addMemberToGroup(group.getID(), bob.getID()));
+        assertTrue(dbHandler.addMemberToGroup(group.getID(), dan.getID()));
+        Tag tag = new Tag("IT", "information technology");
+        assertTrue(dbHandler.addTag(tag));
+        assertTrue(dbHandler.addTagToStudent(bob.getID(), tag.getID()));
+        assertTrue(dbHandler.addTagToStudent(fay.getID(), tag.getID()));
+
+        List<FriendSuggestions.Suggestion> suggestions = dbHandler.suggestFriends(bob.getID(), 10);
+        assertEquals(3, suggestions.size());
+        assertEquals(cal.getID(), suggestions.get(0).getStudentId());
+        assertEquals(2, suggestions.get(0).getMutualFriends());
+        assertEquals(dan.getID(), suggestions.get(1).getStudentId());
+        assertEquals("1 mutual friend, 1 shared group", suggestions.get(1).describe());
+        assertEquals(fay.getID(), suggestions.get(2).getStudentId());
+        assertEquals(2, dbHandler.suggestFriends(bob.getID(), 2).size());
+
+        assertTrue(dbHandler.blockUser(bob.getID(), fay.getID()));
+        assertEquals(2, dbHandler.suggestFriends(bob.getID(), 10).size());
+        assertEquals(Arrays.asList(amy, eve), dbHandler.getMutualFriends(bob.getID(), cal.getID()));
+
+        // Someone who blocked bob, and anyone with a request pending either way, is left out too
+        assertTrue(dbHandler.blockUser(cal.getID(), bob.getID()));
+        suggestions = dbHandler.suggestFriends(bob.getID(), 10);
+        assertEquals(1, suggestions.size());
+        assertEquals(dan.getID(), suggestions.get(0).getStudentId());
+        assertTrue(dbHandler.sendFriendRequest(bob.getID(), dan.getID()));
+        assertTrue(dbHandler.suggestFriends(bob.getID(), 10).isEmpty());
+
+        Student gus = addStudent("gus@ilstu.edu", "secret");
+        assertTrue(dbHandler.addTagToStudent(gus.getID(), tag.getID()));
+        assertEquals(gus.getID(), dbHandler.suggestFriends(bob.getID(), 10).get(0).getStudentId());
+        assertTrue(dbHandler.sendFriendRequest(gus.getID(), bob.getID()));
+        assertTrue(dbHandler.suggestFriends(bob.getID(), 10).isEmpty());
+        assertTrue(dbHandler.declineFriendRequest(gus.getID(), bob.getID()));
+        assertEquals(1, dbHandler.suggestFriends(bob.getID(), 10).size());
+    }
+
+    private void befriend(Student requester, Student accepter) {
+        assertTrue(dbHandler.sendFriendRequest(requester.getID(), accepter.getID()));
+        assertTrue(dbHandler.acceptFriendRequest(requester.getID(), accepter.getID()));
+    }
+
+    // passes when tag names stay unique and student tags follow tag removal
+    @Test
+    public void tags() {
+        Student bob = addStudent("bob@ilstu.edu", "secret");
+        Tag tag = new Tag("IT", "information technology");
+        assertTrue(dbHandler.addTag(tag));
+        assertFalse(dbHandler.addTag(new Tag("it", "duplicate")));
+        assertTrue(dbHandler.containsTag(new Tag("IT", "information technology")));
+
+        assertTrue(dbHandler.addTagToStudent(bob.getID(), tag.getID()));
+        assertEquals(1, dbHandler.getStudentTagIds(bob.getID()).size());
+
+        // A rename publishes a new Tag instead of changing the one readers already hold
+        TagHandler tagHandler = new TagHandler(dbHandler);
+        Tag held = tagHandler.getTagByName("it");
+        assertTrue(tagHandler.updateTag(new Tag(tag.getID(), "Tech", "renamed")));
+        assertEquals("IT", held.getName());
+        assertNull(tagHandler.getTagByName("IT"));
+        assertEquals("renamed", tagHandler.getTagByName("tech").getDescription());
+        assertEquals("Tech", tagHandler.getTagsByStudent(bob).get(0).getName());
+        assertTrue(dbHandler.removeTag(tag));
+        assertTrue(dbHandler.getStudentTagIds(bob.getID()).isEmpty());
+        assertTrue(dbHandler.getAllTags().isEmpty());
+    }
+
+    // passes when a reset drops everything but the initial rows
+    @Test
+    public void resetRestoresInitialData() {
+        addStudent("bob@ilstu.edu", "secret");
+        assertTrue(dbHandler.resetDatabase());
+        assertFalse(dbHandler.doesUsernameExist("bob@ilstu.edu"));
+        assertEquals(1, dbHandler.getAllStudents().size());
+    }
+
+    // Cleanup for gc
+    @After
+    public void cleanUp() {
+        dbHandler = null;
+        database = null;
+    }
+}
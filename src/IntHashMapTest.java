@@ -0,0 +1,44 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IntHashMapTest {
+
+    // passes when puts and removes (including probe-run shifts and resizes) match java.util.HashMap
+    @Test
+    public void matchesHashMap() {
+        IntHashMap<String> map = new IntHashMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(326);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = -1000; key < 1000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        assertEquals(expected.size(), map.values().size());
+    }
+
+    // passes when a copy is unaffected by later changes to the original
+    @Test
+    public void copyIsIndependent() {
+        IntHashMap<String> map = new IntHashMap<>();
+        map.put(1, "a");
+        IntHashMap<String> copy = new IntHashMap<>(map);
+        map.put(2, "b");
+        map.remove(1);
+        assertEquals("a", copy.get(1));
+        assertNull(copy.get(2));
+        assertEquals(1, copy.size());
+    }
+}
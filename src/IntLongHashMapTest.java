@@ -0,0 +1,69 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IntLongHashMapTest {
+
+    // Values that a long map could confuse with "missing" or lose to sign handling
+    private static final long[] EDGE_VALUES = { 0L, -1L, 1L, Long.MIN_VALUE, Long.MAX_VALUE };
+
+    // passes when 0, the missing value and the extremes are stored like any other value,
+    // including under the 0 key, which lives outside the table
+    @Test
+    public void edgeValues() {
+        IntLongHashMap map = new IntLongHashMap();
+        for (int i = 0; i < EDGE_VALUES.length; i++) {
+            map.put(i, EDGE_VALUES[i]);
+        }
+        assertEquals(EDGE_VALUES.length, map.size());
+        for (int i = 0; i < EDGE_VALUES.length; i++) {
+            assertTrue(map.containsKey(i));
+            assertEquals(EDGE_VALUES[i], map.get(i, 42L));
+            // A stored value equal to the missing value is still returned, and containsKey tells them apart
+            assertEquals(EDGE_VALUES[i], map.get(i, EDGE_VALUES[i]));
+        }
+        assertEquals(-1L, map.get(99, -1L));
+        assertFalse(map.containsKey(99));
+
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(7L, map.get(0, 7L));
+        map.put(0, 0L);
+        assertEquals(0L, map.get(0, 7L));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0));
+        assertEquals(7L, map.get(1, 7L));
+    }
+
+    // passes when edge values survive probe-run shifts on remove and the resizes of a table that
+    // starts small, matching java.util.HashMap throughout
+    @Test
+    public void edgeValuesSurviveRemovesAndResizes() {
+        IntLongHashMap map = new IntLongHashMap(4);
+        Map<Integer, Long> expected = new HashMap<>();
+        Random random = new Random(2024);
+        for (int round = 0; round < 5000; round++) {
+            int key = random.nextInt(256) - 128;
+            long value = EDGE_VALUES[random.nextInt(EDGE_VALUES.length)];
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                expected.put(key, value);
+                map.put(key, value);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -128; key < 128; key++) {
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            if (expected.containsKey(key)) {
+                assertEquals((long) expected.get(key), map.get(key, 42L));
+            }
+        }
+    }
+}
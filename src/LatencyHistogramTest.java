@@ -0,0 +1,55 @@
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    // passes when every value lands in a bucket whose top is within about 3% above it
+    @Test
+    public void bucketBounds() {
+        Random random = new Random(17);
+        for (int i = 0; i < 100000; i++) {
+            long value = i < 1000 ? i : random.nextLong() & LatencyHistogram.MAX_VALUE_NANOS;
+            int index = LatencyHistogram.indexOf(value);
+            long top = LatencyHistogram.highestValueAt(index);
+            assertTrue(value + " above its bucket", value <= top);
+            assertTrue(value + " below its bucket", index == 0 || LatencyHistogram.highestValueAt(index - 1) < value);
+            assertTrue(value + " reported as " + top, top - value <= Math.max(1, value / 32));
+        }
+        assertEquals(63, LatencyHistogram.highestValueAt(LatencyHistogram.indexOf(63)));
+        assertEquals(LatencyHistogram.MAX_VALUE_NANOS,
+                LatencyHistogram.highestValueAt(LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE_NANOS)));
+    }
+
+    // passes when percentiles, mean and max match a known distribution and reset clears them
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(99));
+        assertEquals(0, histogram.getMeanNanos());
+
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500, histogram.getMeanNanos());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertEquals(1_000_000, histogram.getPercentileNanos(100));
+        assertEquals(500_000, histogram.getPercentileNanos(50), 500_000 / 32.0);
+        assertEquals(990_000, histogram.getPercentileNanos(99), 990_000 / 32.0);
+        assertTrue(histogram.getPercentileNanos(0) >= 1000);
+
+        // Out of range values are clamped rather than dropped
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(1002, histogram.getCount());
+        assertEquals(LatencyHistogram.MAX_VALUE_NANOS, histogram.getMaxNanos());
+        assertEquals(0, histogram.getPercentileNanos(0.01));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getPercentileNanos(50));
+    }
+}
@@ -0,0 +1,76 @@
+import java.util.function.Supplier;
+
+// Leveled console logging. Messages below the configured level (LOG_LEVEL, default INFO) are
+// dropped before they are built: pass a Supplier, or guard multi-line blocks with
+// isDebugEnabled(), and a disabled call costs one volatile read.
+public final class Log {
+
+    public enum Level {
+        DEBUG,
+        INFO,
+        WARN,
+        ERROR,
+        OFF
+    }
+
+    private static volatile Level level = DatabaseConfig.LOG_LEVEL;
+
+    private Log() {
+    }
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    public static boolean isEnabled(Level messageLevel) {
+        return messageLevel.compareTo(level) >= 0 && messageLevel != Level.OFF;
+    }
+
+    public static boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public static void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            System.out.println("[DEBUG] " + message.get());
+        }
+    }
+
+    public static void info(String message) {
+        if (isEnabled(Level.INFO)) {
+            System.out.println(message);
+        }
+    }
+
+    public static void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            System.out.println(message.get());
+        }
+    }
+
+    public static void warn(String message) {
+        if (isEnabled(Level.WARN)) {
+            System.err.println(message);
+        }
+    }
+
+    public static void error(String message) {
+        if (isEnabled(Level.ERROR)) {
+            System.err.println(message);
+        }
+    }
+
+    // The stack trace is only printed at DEBUG; errors otherwise stay one line
+    public static void error(String message, Throwable cause) {
+        if (isEnabled(Level.ERROR)) {
+            System.err.println(message);
+            if (isDebugEnabled()) {
+                cause.printStackTrace();
+            }
+        }
+    }
+}
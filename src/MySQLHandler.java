@@ -1,22 +1,44 @@
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 
 public class MySQLHandler extends Database implements DatabaseOperations {
 
-    // Connection object for managing database connection
-    private Connection connection;
-    private boolean isConnected = false;
+    // Pool of connections shared by all queries issued through this handler
+    private volatile ConnectionPool connectionPool;
+    private volatile boolean isConnected = false;
+
+    // Connection borrowed by the current thread, so nested queries reuse it instead of taking a second one
+    private final ThreadLocal<PooledConnection> threadConnection = new ThreadLocal<>();
+
+    // Post and group IDs are handed out from blocks reserved in the id_allocators table
+    private final IdAllocator postIdAllocator = new IdAllocator(TABLE_POSTS, DatabaseConfig.DB_ID_BLOCK_SIZE,
+            (sequence, blockSize) -> reserveIdBlock(sequence, SQL_SEED_POST_IDS, blockSize));
+    private final IdAllocator groupIdAllocator = new IdAllocator(TABLE_GROUPS, DatabaseConfig.DB_ID_BLOCK_SIZE,
+            (sequence, blockSize) -> reserveIdBlock(sequence, SQL_SEED_GROUP_IDS, blockSize));
+    private final Set<String> seededSequences = ConcurrentHashMap.newKeySet();
 
     // Database table constants
     private static final String TABLE_STUDENTS = "students";
@@ -26,33 +48,43 @@ public class MySQLHandler extends Database implements DatabaseOperations {
     private static final String TABLE_TAGS = "tags";
     private static final String TABLE_STUDENT_TAGS = "student_tags";
     private static final String TABLE_POST_GROUPS = "post_groups";
+    private static final String TABLE_ID_ALLOCATORS = "id_allocators";
 
     // SQL Query Constants
     private static final String SQL_SELECT_STUDENT_BY_ID = "SELECT * FROM " + TABLE_STUDENTS + " WHERE userID = ?";
     private static final String SQL_SELECT_STUDENT_BY_USERNAME = "SELECT * FROM students WHERE userName = ?";
     private static final String SQL_INSERT_STUDENT = "INSERT INTO students (userName, password, userYear) VALUES (?, ?, ?)";
     private static final String SQL_DELETE_STUDENT = "DELETE FROM " + TABLE_STUDENTS + " WHERE userID = ?";
+    private static final String SQL_GET_ACTIVE_GROUP_IDS = "SELECT groupID FROM " + TABLE_MEMBERSHIPS
+            + " WHERE studentID = ? AND endDate IS NULL";
     private static final String SQL_INSERT_POST = "INSERT INTO " + TABLE_POSTS
             + " (postID, postContent, postOwner, isAnonymous) VALUES (?, ?, ?, ?)";
     private static final String SQL_DELETE_POST = "DELETE FROM posts WHERE postID = ?";
-    private static final String SQL_INSERT_GROUP = "INSERT INTO student_groups (groupID, groupName, groupDescription, groupSize, creationDate) VALUES (?, ?, ?, DEFAULT, DEFAULT)";
-    private static final String SQL_SELECT_GROUP_MEMBERS = "SELECT s.* FROM " + TABLE_STUDENTS + " s JOIN "
-            + TABLE_MEMBERSHIPS +
-            " gm ON s.userID = gm.studentID WHERE gm.groupID = ?";
+    // groupSize and creationDate take their column defaults
+    private static final String SQL_INSERT_GROUP = "INSERT INTO student_groups (groupID, groupName, groupDescription) VALUES (?, ?, ?)";
     private static final String SQL_DELETE_GROUP = "DELETE FROM " + TABLE_GROUPS + " WHERE groupID = ?";
     private static final String SQL_SELECT_ALL_GROUPS = "SELECT * FROM " + TABLE_GROUPS + " ORDER BY groupSize DESC";
     private static final String SQL_INSERT_MEMBER = "INSERT INTO " + TABLE_MEMBERSHIPS
             + " (groupID, studentID, joinDate) VALUES (?, ?, ?)";
     private static final String SQL_UPDATE_GROUP_SIZE = "UPDATE " + TABLE_GROUPS
-            + " SET groupSize = (SELECT COUNT(*) FROM " + TABLE_MEMBERSHIPS + " WHERE groupID = ?) WHERE groupID = ?";
+            + " SET groupSize = (SELECT COUNT(*) FROM " + TABLE_MEMBERSHIPS
+            + " WHERE groupID = ? AND endDate IS NULL) WHERE groupID = ?";
     private static final String SQL_UPDATE_STUDENT = "UPDATE " + TABLE_STUDENTS
             + " SET userName = ?, userYear = ? WHERE userID = ?";
     private static final String SQL_AUTHENTICATE_STUDENT = "SELECT * FROM students WHERE userName = ? AND password = ?";
     private static final String SQL_CHECK_USERNAME_EXISTS = "SELECT COUNT(*) FROM " + TABLE_STUDENTS
             + " WHERE userName = ?";
-    private static final String SQL_SELECT_GROUP_MEMBERS_DETAILED = "SELECT s.* FROM " + TABLE_STUDENTS + " s " +
-            "JOIN " + TABLE_MEMBERSHIPS + " gm ON s.userID = gm.studentID " +
-            "WHERE gm.groupID = ?";
+    // A group joined with its members and membership dates, hydrated in a single round trip
+    private static final String SQL_FIND_GROUP_BY_NAME_WITH_MEMBERS = "SELECT g.groupID, g.groupName, "
+            + "g.groupDescription, g.creationDate, s.userID, s.userName, s.userYear, gm.joinDate, gm.endDate FROM "
+            + TABLE_GROUPS + " g "
+            + "LEFT JOIN " + TABLE_MEMBERSHIPS + " gm ON g.groupID = gm.groupID "
+            + "LEFT JOIN " + TABLE_STUDENTS + " s ON s.userID = gm.studentID "
+            + "WHERE g.groupName = ? ORDER BY g.groupID";
+    private static final String SQL_SELECT_GROUP_MEMBERS_WITH_DATES = "SELECT s.userID, s.userName, s.userYear, "
+            + "gm.joinDate, gm.endDate FROM " + TABLE_STUDENTS + " s JOIN " + TABLE_MEMBERSHIPS
+            + " gm ON s.userID = gm.studentID WHERE gm.groupID = ?";
+    private static final String SQL_SELECT_GROUP_BY_ID = "SELECT * FROM " + TABLE_GROUPS + " WHERE groupID = ?";
     private static final String SQL_INSERT_TAG = "INSERT INTO " + TABLE_TAGS + " (name, description) VALUES (?, ?)";
     private static final String SQL_ADD_TAG_TO_STUDENT = "INSERT INTO " + TABLE_STUDENT_TAGS
             + " (studentID, tagID) VALUES (?, ?)";
@@ -68,7 +100,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
     private static final String SQL_UPDATE_POST = "UPDATE " + TABLE_POSTS + " SET postContent = ? WHERE postID = ?";
     private static final String SQL_UPDATE_GROUP_END_DATE = "UPDATE " + TABLE_MEMBERSHIPS +
             " SET endDate = CURRENT_TIMESTAMP " +
-            "WHERE studentID = ? AND groupID = ? AND (endDate IS NULL OR endDate > CURRENT_TIMESTAMP)";
+            "WHERE studentID = ? AND groupID = ? AND endDate IS NULL";
     private static final String SQL_LEAVE_GROUP = "DELETE FROM " + TABLE_MEMBERSHIPS +
             " WHERE studentID = ? AND groupID = ?";
     private static final String SQL_CHECK_TAG_EXISTS = "SELECT COUNT(*) FROM " + TABLE_TAGS
@@ -94,6 +126,13 @@ public class MySQLHandler extends Database implements DatabaseOperations {
     private static final String SQL_GET_BOOKMARKED_POSTS = "SELECT p.* FROM posts p JOIN bookmarked_posts bp ON p.postID = bp.postID WHERE bp.userID = ?";
     private static final String SQL_TOGGLE_ANONYMOUS = "UPDATE students SET isAnonymous = ? WHERE userID = ?";
     private static final String SQL_GET_STUDENT_BY_ID = "SELECT * FROM students WHERE userID = ?";
+    // Followed by an IN list of placeholders; one row per student and tag, or a single untagged row
+    private static final String SQL_GET_STUDENTS_BY_IDS = "SELECT s.userID, s.userName, s.userYear,"
+            + " t.tagID, t.name, t.description FROM students s"
+            + " LEFT JOIN " + TABLE_STUDENT_TAGS + " st ON st.studentID = s.userID"
+            + " LEFT JOIN " + TABLE_TAGS + " t ON t.tagID = st.tagID WHERE s.userID IN ";
+    // IN lists are padded to a power of two no larger than this, so only a few statements are prepared
+    private static final int MAX_IN_LIST = 256;
 
     // Add these with the other SQL constants at the top of the class
     private static final String SQL_REMOVE_FRIEND = "DELETE FROM friends WHERE (userID1 = ? AND userID2 = ?) OR (userID1 = ? AND userID2 = ?)";
@@ -102,46 +141,59 @@ public class MySQLHandler extends Database implements DatabaseOperations {
 
     private static final String SQL_REMOVE_GROUP_MEMBER = "DELETE FROM group_memberships WHERE groupID = ? AND studentID = ?";
 
-    private static final String SQL_GET_MEMBER_JOIN_DATE = "SELECT joinDate FROM group_memberships WHERE groupID = ? AND studentID = ?";
-
-    private static final String SQL_GET_MEMBER_END_DATE = "SELECT endDate FROM group_memberships WHERE groupID = ? AND studentID = ?";
-
     // Add this SQL constant at the top with other constants
-    private static final String SQL_UPDATE_STUDENT_PASSWORD = "UPDATE students SET password = ? WHERE student_id = ?";
+    private static final String SQL_UPDATE_STUDENT_PASSWORD = "UPDATE students SET password = ? WHERE userID = ?";
 
     // Add this with the other SQL constants at the top of the class
     private static final String SQL_ADD_GROUP_MEMBER = "INSERT INTO " + TABLE_MEMBERSHIPS
             + " (groupID, studentID, joinDate) VALUES (?, ?, ?)";
 
     private static final String SQL_CHECK_GROUP_MEMBERSHIP = "SELECT COUNT(*) FROM " + TABLE_MEMBERSHIPS +
-            " WHERE studentID = ? AND groupID = ? AND (endDate IS NULL OR endDate > CURRENT_TIMESTAMP)";
+            " WHERE studentID = ? AND groupID = ? AND endDate IS NULL";
 
     private static final String SQL_JOIN_GROUP = "INSERT INTO " + TABLE_MEMBERSHIPS
             + " (studentID, groupID, joinDate) VALUES (?, ?, CURRENT_TIMESTAMP)";
 
-    private static final String SQL_GET_GROUP_POSTS = 
+    private static final String SQL_SELECT_GROUP_POSTS = 
         "SELECT p.postID, p.postContent, p.postOwner, p.postDate, p.isAnonymous, " +
         "s.userID as ownerID, s.userName, s.userYear " +
         "FROM " + TABLE_POSTS + " p " +
         "JOIN " + TABLE_STUDENTS + " s ON p.postOwner = s.userID " +
         "JOIN " + TABLE_POST_GROUPS + " pg ON p.postID = pg.postID " +
-        "WHERE pg.groupID = ? ORDER BY p.postDate DESC";
+        "WHERE pg.groupID = ? ";
+    private static final String SQL_GET_GROUP_POSTS = SQL_SELECT_GROUP_POSTS + "ORDER BY p.postDate DESC";
+
+    // Keyset pages of a group's posts; the cursor predicate is spelled out so the (postDate, postID) index applies
+    private static final String SQL_GET_GROUP_POSTS_FIRST_PAGE = SQL_SELECT_GROUP_POSTS
+            + "ORDER BY p.postDate DESC, p.postID DESC LIMIT ?";
+    private static final String SQL_GET_GROUP_POSTS_OLDER = SQL_SELECT_GROUP_POSTS
+            + "AND (p.postDate < ? OR (p.postDate = ? AND p.postID < ?)) "
+            + "ORDER BY p.postDate DESC, p.postID DESC LIMIT ?";
+    private static final String SQL_GET_GROUP_POSTS_NEWER = SQL_SELECT_GROUP_POSTS
+            + "AND (p.postDate > ? OR (p.postDate = ? AND p.postID > ?)) "
+            + "ORDER BY p.postDate ASC, p.postID ASC LIMIT ?";
 
     // Add with other SQL constants at the top
-    private static final String SQL_FIND_GROUP_BY_NAME = "SELECT * FROM " + TABLE_GROUPS + " WHERE groupName = ?";
 
     // Add with other SQL constants
     private static final String SQL_CHECK_GROUP_EXISTS = "SELECT COUNT(*) FROM " + TABLE_GROUPS
             + " WHERE groupName = ?";
 
-    // Add this constant with other SQL constants
-    private static final String SQL_GET_MAX_GROUP_ID = "SELECT MAX(groupID) FROM " + TABLE_GROUPS;
-
-    private static final String SQL_GET_MAX_POST_ID = "SELECT MAX(postID) FROM " + TABLE_POSTS;
+    // SQL constants for block-allocated post and group IDs
+    private static final String SQL_SEED_POST_IDS = "INSERT INTO " + TABLE_ID_ALLOCATORS
+            + " (name, nextValue) SELECT ?, COALESCE(MAX(postID), 0) + 1 FROM " + TABLE_POSTS
+            + " WHERE NOT EXISTS (SELECT 1 FROM " + TABLE_ID_ALLOCATORS + " WHERE name = ?)";
+    private static final String SQL_SEED_GROUP_IDS = "INSERT INTO " + TABLE_ID_ALLOCATORS
+            + " (name, nextValue) SELECT ?, COALESCE(MAX(groupID), 0) + 1 FROM " + TABLE_GROUPS
+            + " WHERE NOT EXISTS (SELECT 1 FROM " + TABLE_ID_ALLOCATORS + " WHERE name = ?)";
+    private static final String SQL_RESERVE_ID_BLOCK = "UPDATE " + TABLE_ID_ALLOCATORS
+            + " SET nextValue = nextValue + ? WHERE name = ?";
+    private static final String SQL_GET_ID_HIGH_WATER_MARK = "SELECT nextValue FROM " + TABLE_ID_ALLOCATORS
+            + " WHERE name = ?";
 
     private static final String SQL_GET_STUDENT_GROUPS = "SELECT g.* FROM " + TABLE_GROUPS + " g JOIN " +
             TABLE_MEMBERSHIPS
-            + " m ON g.groupID = m.groupID WHERE m.studentID = ? AND (m.endDate IS NULL OR m.endDate > CURRENT_TIMESTAMP)";
+            + " m ON g.groupID = m.groupID WHERE m.studentID = ? AND m.endDate IS NULL";
 
     // Add these SQL constants with the others at the top
     private static final String SQL_CHECK_PENDING_REQUEST = "SELECT * FROM friend_requests WHERE fromUserID = ? AND toUserID = ? AND status = 'PENDING'";
@@ -150,60 +202,203 @@ public class MySQLHandler extends Database implements DatabaseOperations {
     private static final String SQL_DECLINE_REQUEST = "UPDATE friend_requests SET status = 'DECLINED' WHERE fromUserID = ? AND toUserID = ? AND status = 'PENDING'";
     private static final String SQL_CHECK_BLOCKED = "SELECT * FROM blocked_users WHERE blockerID = ? AND blockedID = ?";
 
-    private static final String SQL_GET_STUDENT_BY_EMAIL = "SELECT * FROM " + TABLE_STUDENTS + " WHERE email = ?";
+    private static final String SQL_GET_STUDENT_BY_EMAIL = "SELECT * FROM " + TABLE_STUDENTS + " WHERE userName = ?";
 
     private static final String SQL_ADD_FRIENDSHIP = "INSERT INTO friends (userID1, userID2) VALUES (?, ?)";
 
     private static final String SQL_GET_ALL_TAGS = "SELECT * FROM " + TABLE_TAGS;
+    private static final String SQL_GET_ALL_STUDENTS = "SELECT * FROM " + TABLE_STUDENTS;
     private static final String SQL_UPDATE_TAG = "UPDATE " + TABLE_TAGS + " SET name = ?, description = ? WHERE tagID = ?";
     private static final String SQL_REMOVE_TAG = "DELETE FROM " + TABLE_TAGS + " WHERE tagID = ?";
     private static final String SQL_GET_STUDENT_TAG_IDS = "SELECT tagID FROM " + TABLE_STUDENT_TAGS + " WHERE studentID = ?";
+    private static final String SQL_GET_SHARED_GROUP_MEMBER_IDS = "SELECT other.studentID FROM " + TABLE_MEMBERSHIPS
+            + " mine JOIN " + TABLE_MEMBERSHIPS + " other ON other.groupID = mine.groupID"
+            + " WHERE mine.studentID = ? AND other.studentID <> mine.studentID"
+            + " AND mine.endDate IS NULL AND other.endDate IS NULL";
+    private static final String SQL_GET_SHARED_TAG_STUDENT_IDS = "SELECT other.studentID FROM " + TABLE_STUDENT_TAGS
+            + " mine JOIN " + TABLE_STUDENT_TAGS + " other ON other.tagID = mine.tagID"
+            + " WHERE mine.studentID = ? AND other.studentID <> mine.studentID";
+    private static final String SQL_GET_BLOCKED_OR_REQUESTED_IDS = "SELECT blockedID FROM blocked_users WHERE blockerID = ?"
+            + " UNION ALL SELECT blockerID FROM blocked_users WHERE blockedID = ?"
+            + " UNION ALL SELECT toUserID FROM friend_requests WHERE fromUserID = ? AND status = 'PENDING'"
+            + " UNION ALL SELECT fromUserID FROM friend_requests WHERE toUserID = ? AND status = 'PENDING'";
 
     private static final String SQL_GET_STUDENT_POSTS = "SELECT p.*, s.* FROM posts p JOIN students s ON p.postOwner = s.userID WHERE s.userID = ?";
 
     private static final String SQL_REMOVE_ALL_FRIENDSHIPS = "DELETE FROM friends WHERE userID1 = ? OR userID2 = ?";
+    private static final String SQL_GET_ALL_FRIENDSHIPS = "SELECT userID1, userID2 FROM friends";
+
+    // Rows sent per executeBatch call by the batched bulk insert
+    private static final int BULK_BATCH_SIZE = 1000;
 
     // Constructor
     public MySQLHandler(String dbName) {
         super(dbName);
-        System.out.println("MySQLHandler instance created for database: " + dbName);
+        Log.debug(() -> getClass().getSimpleName() + " instance created for database: " + dbName);
+    }
+
+    // Dialect hooks, overridden by backends that reuse this handler's queries against another server
+    protected String getBackendName() {
+        return "MySQL";
+    }
+
+    protected String getDriverClassName() {
+        return "com.mysql.cj.jdbc.Driver";
+    }
+
+    protected String getConnectionUrl() {
+        return DatabaseConfig.getConnectionUrl();
+    }
+
+    protected String getConnectionUser() {
+        return DatabaseConfig.DB_USER;
+    }
+
+    protected String getConnectionPassword() {
+        return DatabaseConfig.DB_PASSWORD;
+    }
+
+    protected Properties getConnectionProperties() {
+        return ConnectionPool.credentials(getConnectionUser(), getConnectionPassword());
+    }
+
+    // Rewrite a query for this backend's SQL dialect; the shared queries are written for MySQL
+    protected String dialectSql(String sql) {
+        return sql;
+    }
+
+    // Whether an insert failed because the key it wrote already exists (SQL state class 23)
+    protected boolean isDuplicateKey(SQLException e) {
+        return e instanceof SQLIntegrityConstraintViolationException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("23"));
+    }
+
+    // Script run by resetDatabase
+    protected String getSchemaScriptPath() {
+        return "src/createDB.sql";
+    }
+
+    // Drop and recreate every table with the initial rows, on the given connection
+    protected void recreateSchema(PooledConnection conn) throws SQLException, IOException {
+        // Read the entire SQL script into a single string
+        StringBuilder fullScript = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new FileReader(getSchemaScriptPath()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Skip comments and empty lines
+                if (line.trim().isEmpty() || line.trim().startsWith("--")) {
+                    continue;
+                }
+                fullScript.append(line).append("\n");
+            }
+        }
+
+        // Split into individual statements and execute each one on this
+        // connection, since the script switches databases with USE
+        String[] statements = fullScript.toString().split(";");
+        for (String statement : statements) {
+            statement = statement.trim();
+            if (!statement.isEmpty()) {
+                if (!executeUpdate(statement + ";")) {
+                    Log.error("Failed statement: " + statement);
+                }
+            }
+        }
+    }
+
+    // Prepare a statement to read a large result set; returns true if it opened a transaction
+    // that endLargeRead must finish. The default reads the result the usual way.
+    protected boolean beginLargeRead(Connection connection, PreparedStatement stmt) throws SQLException {
+        return false;
+    }
+
+    protected void endLargeRead(Connection connection, boolean succeeded) throws SQLException {
+    }
+
+    // Prepare an uncached statement whose rows are streamed to the caller; returns true if it
+    // opened a transaction that endLargeRead must finish. Connector/J only streams row by row
+    // with this fetch size, and the connection can run nothing else until the result is closed.
+    protected boolean beginStreamingRead(Connection connection, PreparedStatement stmt) throws SQLException {
+        stmt.setFetchSize(Integer.MIN_VALUE);
+        return false;
+    }
+
+    // Insert rows into a table inside the caller's transaction; returns the number of rows inserted
+    protected int bulkInsert(PooledConnection conn, String table, List<String> columns, List<Object[]> rows)
+            throws SQLException {
+        String[] placeholders = new String[columns.size()];
+        Arrays.fill(placeholders, "?");
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", placeholders) + ")";
+        PreparedStatement stmt = conn.prepareStatement(sql);
+        try {
+            int inserted = 0;
+            int pending = 0;
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    stmt.setObject(i + 1, row[i]);
+                }
+                stmt.addBatch();
+                if (++pending == BULK_BATCH_SIZE) {
+                    inserted += countBatch(stmt.executeBatch());
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                inserted += countBatch(stmt.executeBatch());
+            }
+            return inserted;
+        } finally {
+            conn.releaseStatement(sql, stmt);
+        }
+    }
+
+    private static int countBatch(int[] results) {
+        int count = 0;
+        for (int result : results) {
+            count += result == Statement.SUCCESS_NO_INFO ? 1 : result;
+        }
+        return count;
     }
 
-    // Method to establish a connection to the MySQL database
+    // Method to establish a connection to the database
     @Override
     public synchronized void connect() {
-        System.out.println("Attempting to connect to MySQL database: " + dbName);
+        Log.info("Attempting to connect to " + getBackendName() + " database: " + dbName);
         if (!isConnected) {
             try {
-                Class.forName("com.mysql.cj.jdbc.Driver");
-                connection = DriverManager.getConnection(
-                        DatabaseConfig.getConnectionUrl(),
-                        DatabaseConfig.DB_USER,
-                        DatabaseConfig.DB_PASSWORD);
-                isConnected = connection != null && !connection.isClosed();
-                System.out.println("Connected to MySQL database: " + dbName);
+                Class.forName(getDriverClassName());
+                connectionPool = new ConnectionPool(
+                        getConnectionUrl(),
+                        getConnectionProperties(),
+                        DatabaseConfig.DB_POOL_MIN_SIZE,
+                        DatabaseConfig.DB_POOL_MAX_SIZE,
+                        DatabaseConfig.DB_POOL_ACQUIRE_TIMEOUT_MS,
+                        DatabaseConfig.DB_POOL_IDLE_TIMEOUT_MS,
+                        DatabaseConfig.DB_POOL_VALIDATION_TIMEOUT_SEC,
+                        DatabaseConfig.DB_STATEMENT_CACHE_SIZE);
+                isConnected = true;
+                Log.info("Connected to " + getBackendName() + " database: " + dbName + " (pool size "
+                        + connectionPool.getMinSize() + "-" + connectionPool.getMaxSize() + ")");
             } catch (ClassNotFoundException | SQLException e) {
                 logError("Failed to connect to database: " + e.getMessage());
                 throw new RuntimeException(e);
             }
         } else {
-            System.out.println("Already connected to MySQL database: " + dbName);
+            Log.info("Already connected to " + getBackendName() + " database: " + dbName);
         }
     }
 
-    // Method to disconnect from the MySQL database
+    // Method to disconnect from the database
     @Override
     public synchronized void disconnect() {
         if (isConnected) {
-            try {
-                connection.close();
-                isConnected = false;
-                System.out.println("Disconnected from MySQL database: " + dbName);
-            } catch (SQLException e) {
-                logError("Failed to disconnect from database: " + e.getMessage());
-            }
+            connectionPool.close();
+            connectionPool = null;
+            isConnected = false;
+            Log.info("Disconnected from " + getBackendName() + " database: " + dbName);
         } else {
-            System.out.println("Already disconnected from MySQL database: " + dbName);
+            Log.info("Already disconnected from " + getBackendName() + " database: " + dbName);
         }
     }
 
@@ -213,30 +408,43 @@ public class MySQLHandler extends Database implements DatabaseOperations {
         }
     }
 
+    // Run work on this thread's pooled connection, borrowing one for the outermost call
+    protected <T> T withConnection(ConnectionCallback<T> callback) throws SQLException {
+        PooledConnection current = threadConnection.get();
+        if (current != null) {
+            return callback.apply(current);
+        }
+        ensureConnected();
+        try (PooledConnection conn = connectionPool.getConnection()) {
+            threadConnection.set(conn);
+            return callback.apply(conn);
+        } finally {
+            threadConnection.remove();
+        }
+    }
+
+    // Pool statistics for diagnostics
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
     // Method to add a student to the database
     @Override
     public boolean addStudent(Student student, String password) {
         return executeUpdate(
                 SQL_INSERT_STUDENT,
                 stmt -> {
-                    System.out.println("\n====== MySQL Add Student Debug ======");
-                    System.out.println("Input Values:");
-                    System.out.println("- email: " + student.getEmail());
-                    System.out.println("- Original password length: " + password.length());
-                    System.out.println("- userYear: " + student.getYear());
-
+                    Log.debug(() -> "Adding student: email=" + student.getEmail() + ", year=" + student.getYear()
+                            + ", password length=" + password.length());
                     stmt.setString(1, student.getEmail());
                     stmt.setString(2, hashPassword(password));
                     stmt.setString(3, student.getYear());
-                    System.out.println("Parameters set, executing update...");
                 });
     }
 
     // Method to remove a student from the database
     public void removeStudent(Student student) {
-        executeUpdate(
-                SQL_DELETE_STUDENT,
-                stmt -> stmt.setInt(1, student.getID()));
+        deleteStudentRow(student.getID());
     }
 
     // Method to remove a group from the database
@@ -254,33 +462,96 @@ public class MySQLHandler extends Database implements DatabaseOperations {
             int newId = generateUniquePostId();
             post.setID(newId);
 
-            // First insert the post
-            try (PreparedStatement stmt = connection.prepareStatement(SQL_INSERT_POST)) {
-                stmt.setInt(1, post.getID());
-                stmt.setString(2, post.getContent());
-                stmt.setInt(3, post.getOwner().getID());
-                stmt.setBoolean(4, post.getOwner().isAnonymous());
-                stmt.executeUpdate();
+            // First insert the post, then associate it with its group on the same connection
+            return withConnection(conn -> {
+                PreparedStatement stmt = conn.prepareStatement(SQL_INSERT_POST);
+                try {
+                    stmt.setInt(1, post.getID());
+                    stmt.setString(2, post.getContent());
+                    stmt.setInt(3, post.getOwner().getID());
+                    stmt.setBoolean(4, post.getOwner().isAnonymous());
+                    stmt.executeUpdate();
+                } finally {
+                    conn.releaseStatement(SQL_INSERT_POST, stmt);
+                }
 
                 // If post has a group, associate it with the group
                 if (post.getGroup() != null) {
                     return addPostToGroup(post.getID(), post.getGroup().getID());
                 }
                 return true;
-            }
+            });
         } catch (SQLException e) {
-            System.err.println("Error creating post: " + e.getMessage());
+            Log.error("Error creating post: " + e.getMessage());
             return false;
         }
     }
 
+    // Bulk-load students in one transaction; passwords[i] belongs to students[i]
+    @Override
+    public int addStudents(List<Student> students, List<String> passwords) {
+        if (students.size() != passwords.size()) {
+            throw new IllegalArgumentException("Each student needs exactly one password.");
+        }
+        List<Object[]> rows = new ArrayList<>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            rows.add(new Object[] { student.getEmail(), hashPassword(passwords.get(i)), student.getYear() });
+        }
+        return executeBulkInsert(conn -> bulkInsert(conn, TABLE_STUDENTS,
+                Arrays.asList("userName", "password", "userYear"), rows));
+    }
+
+    // Bulk-load posts and their group links in one transaction, assigning each post its ID
+    public int createPosts(List<Post> posts) {
+        // IDs are reserved before the transaction starts, since a reservation commits on this connection
+        List<Object[]> postRows = new ArrayList<>(posts.size());
+        List<Object[]> groupRows = new ArrayList<>();
+        try {
+            for (Post post : posts) {
+                post.setID(generateUniquePostId());
+                postRows.add(new Object[] { post.getID(), post.getContent(), post.getOwner().getID(),
+                        post.getOwner().isAnonymous() });
+                if (post.getGroup() != null) {
+                    groupRows.add(new Object[] { post.getID(), post.getGroup().getID() });
+                }
+            }
+        } catch (SQLException e) {
+            logError("Failed to allocate post IDs: " + e.getMessage());
+            return 0;
+        }
+        return executeBulkInsert(conn -> {
+            int inserted = bulkInsert(conn, TABLE_POSTS,
+                    Arrays.asList("postID", "postContent", "postOwner", "isAnonymous"), postRows);
+            if (!groupRows.isEmpty()) {
+                bulkInsert(conn, TABLE_POST_GROUPS, Arrays.asList("postID", "groupID"), groupRows);
+            }
+            return inserted;
+        });
+    }
+
+    // Bulk-add members to a group in one transaction; fails as a whole if any of them already has a membership row
+    public int addMembersToGroup(int groupId, List<Integer> studentIds) {
+        Timestamp joinDate = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(studentIds.size());
+        for (int studentId : studentIds) {
+            rows.add(new Object[] { groupId, studentId, joinDate });
+        }
+        int inserted = executeBulkInsert(conn -> bulkInsert(conn, TABLE_MEMBERSHIPS,
+                Arrays.asList("groupID", "studentID", "joinDate"), rows));
+        if (inserted > 0) {
+            updateGroupSize(groupId);
+        }
+        return inserted;
+    }
+
     // Method to remove a post from the database
     public boolean removePost(int postId) {
         return executeUpdate(
             SQL_DELETE_POST,
             stmt -> {
                 stmt.setInt(1, postId);
-                System.out.println("Removing post with ID: " + postId);
+                Log.debug(() -> "Removing post with ID: " + postId);
             });
     }
 
@@ -294,16 +565,14 @@ public class MySQLHandler extends Database implements DatabaseOperations {
 
     @Override
     public Student authenticateStudent(String username, String password) {
-        System.out.println("\n====== MySQL Authentication Debug ======");
-        System.out.println("Attempting authentication:");
-        System.out.println("- Username: " + username);
-        System.out.println("- Password hash: " + hashPassword(password));
+        Log.debug(() -> "Authenticating " + username);
 
+        String passwordHash = hashPassword(password);
         return executeQuery(
                 SQL_AUTHENTICATE_STUDENT,
                 stmt -> {
                     stmt.setString(1, username);
-                    stmt.setString(2, hashPassword(password));
+                    stmt.setString(2, passwordHash);
                 },
                 rs -> {
                     if (rs.next()) {
@@ -333,131 +602,243 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                                     return studentGroups;
                                 });
                         student.setGroups(groups);
-                        System.out.println("Authentication successful! Loaded " + groups.size() + " groups.");
+                        Log.debug(() -> "Authenticated " + username + ", loaded " + groups.size() + " groups");
                         return student;
                     }
-                    System.out.println("No matching record found");
+                    Log.debug(() -> "Authentication failed for " + username);
                     return null;
                 });
     }
 
-    private String hashPassword(String password) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hashedBytes = md.digest(password.getBytes());
-            // System.out.println("MySQLHandler hashPassword: " + password + " hash: " +
-            // hashedBytes.toString());
-
-            StringBuilder sb = new StringBuilder();
-            for (byte b : hashedBytes) {
-                sb.append(String.format("%02x", b));
-            }
-            // System.out.println("MySQLHandler hashPassword return: " + sb.toString());
-
-            return sb.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Failed to hash password", e);
-        }
-    }
-
+    // Statements handed out directly keep their pooled connection until they are closed. Inside
+    // withConnection the thread's connection is used instead, so nested use never borrows a second
+    // one (a small pool could otherwise run dry); closing such a statement leaves the connection alone.
     @Override
     public PreparedStatement prepareStatement(String query) {
+        PooledConnection current = threadConnection.get();
+        if (current != null) {
+            try {
+                return current.getConnection().prepareStatement(dialectSql(query));
+            } catch (SQLException e) {
+                logError("Failed to prepare statement: " + e.getMessage());
+                throw new RuntimeException(e);
+            }
+        }
+        ensureConnected();
+        PooledConnection conn = null;
         try {
-            return connection.prepareStatement(query);
+            conn = connectionPool.getConnection();
+            return releasingOnClose(conn.getConnection().prepareStatement(dialectSql(query)), conn);
         } catch (SQLException e) {
+            if (conn != null) {
+                conn.close();
+            }
             logError("Failed to prepare statement: " + e.getMessage());
             throw new RuntimeException(e);
         }
     }
 
+    private PreparedStatement releasingOnClose(PreparedStatement stmt, PooledConnection conn) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                MySQLHandler.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        try {
+                            stmt.close();
+                        } finally {
+                            conn.close();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(stmt, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
     // Query example (multiple results)
+    // Members are loaded lazily, so directory screens only pay for the group rows
     @Override
     public List<Group> getAllGroups() {
-        List<Group> groups = new ArrayList<>();
-        executeQuery(
+        List<Group> groups = executeQuery(
                 SQL_SELECT_ALL_GROUPS,
                 stmt -> {
                 }, // No parameters needed
                 rs -> {
+                    List<Group> lazyGroups = new ArrayList<>();
                     while (rs.next()) {
-                        Group group = new Group(
-                                rs.getInt("groupID"),
-                                rs.getString("groupName"),
-                                rs.getString("groupDescription"));
-                        // Set additional properties
-                        group.setCreationDate(rs.getTimestamp("creationDate"));
-
-                        // Load members for this group
-                        executeQuery(
-                                SQL_SELECT_GROUP_MEMBERS_DETAILED,
-                                memberStmt -> memberStmt.setInt(1, group.getID()),
-                                memberRs -> {
-                                    while (memberRs.next()) {
-                                        Student member = new Student(
-                                                memberRs.getInt("userID"),
-                                                null,
-                                                memberRs.getString("userName"),
-                                                memberRs.getString("userYear"),
-                                                new ArrayList<>(),
-                                                new ArrayList<>(),
-                                                new ArrayList<>());
-                                        group.addMember(member);
-
-                                        // Load join and end dates
-                                        Date joinDate = getMemberJoinDate(group.getID(), member.getID());
-                                        Date endDate = getMemberEndDate(group.getID(), member.getID());
-                                        if (joinDate != null) {
-                                            group.setMemberJoinDate(member, joinDate);
-                                        }
-                                        if (endDate != null) {
-                                            group.setMemberEndDate(member, endDate);
-                                        }
-                                    }
-                                    return null;
-                                });
-                        groups.add(group);
+                        lazyGroups.add(mapRowToLazyGroup(rs));
                     }
-                    return groups;
+                    return lazyGroups;
                 });
-        return groups;
+        return groups != null ? groups : new ArrayList<>();
     }
 
-    private List<Student> getGroupMembers(int groupId) {
-        return executeQuery(
-                SQL_SELECT_GROUP_MEMBERS_DETAILED,
-                stmt -> stmt.setInt(1, groupId),
+    // Helper method for mapping a group row whose members are fetched on first access
+    private Group mapRowToLazyGroup(ResultSet rs) throws SQLException {
+        Group group = new Group(
+                rs.getInt("groupID"),
+                rs.getString("groupName"),
+                rs.getString("groupDescription"));
+        group.setCreationDate(rs.getTimestamp("creationDate"));
+        group.setStoredSize(rs.getInt("groupSize"));
+        group.setMemberLoader(this::loadGroupMembers);
+        return group;
+    }
+
+    private boolean loadGroupMembers(Group group) {
+        Boolean loaded = executeQuery(
+                SQL_SELECT_GROUP_MEMBERS_WITH_DATES,
+                stmt -> stmt.setInt(1, group.getID()),
                 rs -> {
-                    List<Student> members = new ArrayList<>();
                     while (rs.next()) {
-                        members.add(new Student(
-                                rs.getInt("userID"),
-                                null,
-                                rs.getString("userName"),
-                                rs.getString("userYear"),
-                                new ArrayList<>(),
-                                new ArrayList<>(),
-                                new ArrayList<>()));
+                        addMemberFromRow(group, rs);
                     }
-                    return members;
+                    return true;
                 });
+        return loaded != null;
     }
 
-    private int generateUniqueGroupId() {
-        return executeQuery(SQL_GET_MAX_GROUP_ID,
-                stmt -> {
-                },
-                rs -> rs.next() ? rs.getInt(1) + 1 : 1);
+    // Helper method for assembling groups, members and membership dates from one joined result set
+    private List<Group> mapResultSetToGroupList(ResultSet rs) throws SQLException {
+        Map<Integer, Group> groups = new LinkedHashMap<>();
+        while (rs.next()) {
+            int groupId = rs.getInt("groupID");
+            Group group = groups.get(groupId);
+            if (group == null) {
+                group = new Group(
+                        groupId,
+                        rs.getString("groupName"),
+                        rs.getString("groupDescription"));
+                group.setCreationDate(rs.getTimestamp("creationDate"));
+                groups.put(groupId, group);
+            }
+
+            addMemberFromRow(group, rs);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    // Add the member and membership dates on the current row, if there is one
+    private void addMemberFromRow(Group group, ResultSet rs) throws SQLException {
+        // Groups without members come back from a LEFT JOIN with NULL member columns
+        int memberId = rs.getInt("userID");
+        if (rs.wasNull()) {
+            return;
+        }
+        Student member = new Student(
+                memberId,
+                null,
+                rs.getString("userName"),
+                rs.getString("userYear"),
+                new ArrayList<>(),
+                new ArrayList<>(),
+                new ArrayList<>());
+        group.addMember(member);
+
+        Date joinDate = rs.getTimestamp("joinDate");
+        Date endDate = rs.getTimestamp("endDate");
+        if (joinDate != null) {
+            group.setMemberJoinDate(member, joinDate);
+        }
+        if (endDate != null) {
+            group.setMemberEndDate(member, endDate);
+        }
+    }
+
+    private int generateUniqueGroupId() throws SQLException {
+        return groupIdAllocator.nextId();
+    }
+
+    // Reserve the next block of IDs for a sequence and return its first ID
+    private int reserveIdBlock(String sequenceName, String seedQuery, int blockSize) throws SQLException {
+        return withConnection(conn -> {
+            seedSequence(conn, sequenceName, seedQuery);
+
+            Connection connection = conn.getConnection();
+            connection.setAutoCommit(false);
+            try {
+                // The UPDATE locks the sequence row, so concurrent instances take turns here
+                PreparedStatement reserveStmt = conn.prepareStatement(SQL_RESERVE_ID_BLOCK);
+                int updated;
+                try {
+                    reserveStmt.setInt(1, blockSize);
+                    reserveStmt.setString(2, sequenceName);
+                    updated = reserveStmt.executeUpdate();
+                } finally {
+                    conn.releaseStatement(SQL_RESERVE_ID_BLOCK, reserveStmt);
+                }
+                if (updated == 0) {
+                    throw new SQLException("ID sequence '" + sequenceName + "' is missing from "
+                            + TABLE_ID_ALLOCATORS + ".");
+                }
+
+                PreparedStatement selectStmt = conn.prepareStatement(SQL_GET_ID_HIGH_WATER_MARK);
+                ResultSet rs = null;
+                int highWaterMark;
+                try {
+                    selectStmt.setString(1, sequenceName);
+                    rs = selectStmt.executeQuery();
+                    if (!rs.next()) {
+                        throw new SQLException("ID sequence '" + sequenceName + "' disappeared during reservation.");
+                    }
+                    highWaterMark = rs.getInt(1);
+                } finally {
+                    closeResultSet(rs);
+                    conn.releaseStatement(SQL_GET_ID_HIGH_WATER_MARK, selectStmt);
+                }
+
+                connection.commit();
+                return highWaterMark - blockSize;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+
+    // Create the sequence row from the table's current MAX(id) the first time this process uses it.
+    // The id_allocators table itself comes from the schema script.
+    private void seedSequence(PooledConnection conn, String sequenceName, String seedQuery) throws SQLException {
+        if (seededSequences.contains(sequenceName)) {
+            return;
+        }
+        PreparedStatement seedStmt = conn.prepareStatement(seedQuery);
+        try {
+            seedStmt.setString(1, sequenceName);
+            seedStmt.setString(2, sequenceName);
+            seedStmt.executeUpdate();
+        } catch (SQLException e) {
+            // Another instance seeded the same sequence first; its row is just as good
+            if (!isDuplicateKey(e)) {
+                throw e;
+            }
+        } finally {
+            conn.releaseStatement(seedQuery, seedStmt);
+        }
+        seededSequences.add(sequenceName);
     }
 
     @Override
     public boolean addGroup(Group group) {
         if (doesGroupExist(group.getName())) {
-            System.out.println("Group with name '" + group.getName() + "' already exists");
+            Log.debug(() -> "Group with name '" + group.getName() + "' already exists");
             return false;
         }
 
         // Generate and set a new unique ID
-        int newId = generateUniqueGroupId();
+        int newId;
+        try {
+            newId = generateUniqueGroupId();
+        } catch (SQLException e) {
+            logError("Failed to allocate group ID: " + e.getMessage());
+            return false;
+        }
         group.setID(newId);
 
         return executeUpdate(SQL_INSERT_GROUP,
@@ -465,7 +846,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                     stmt.setInt(1, group.getID());
                     stmt.setString(2, group.getName());
                     stmt.setString(3, group.getDescription());
-                    System.out.println("Adding new group: " + group.getName());
+                    Log.debug(() -> "Adding new group: " + group.getName());
                 });
     }
 
@@ -479,18 +860,22 @@ public class MySQLHandler extends Database implements DatabaseOperations {
     public boolean addMemberToGroup(int groupId, int studentId) {
         // First check if the student is already a member with an active membership
         if (isStudentInGroup(studentId, groupId)) {
-            System.out.println("Student " + studentId + " is already a member of group " + groupId);
+            Log.debug(() -> "Student " + studentId + " is already a member of group " + groupId);
             return false;
         }
 
-        return executeUpdate(
+        boolean success = executeUpdate(
                 SQL_ADD_GROUP_MEMBER,
                 stmt -> {
                     stmt.setInt(1, groupId);
                     stmt.setInt(2, studentId);
                     stmt.setTimestamp(3, new java.sql.Timestamp(System.currentTimeMillis()));
-                    System.out.println("Adding member " + studentId + " to group " + groupId);
+                    Log.debug(() -> "Adding member " + studentId + " to group " + groupId);
                 });
+        if (success) {
+            updateGroupSize(groupId);
+        }
+        return success;
     }
 
     private void updateGroupSize(int groupId) {
@@ -526,7 +911,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
 
     @Override
     public boolean removeStudent(int id) {
-        return executeUpdate(SQL_DELETE_STUDENT, stmt -> stmt.setInt(1, id));
+        return deleteStudentRow(id);
     }
 
     // Update example
@@ -549,53 +934,57 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 rs -> rs.next() && rs.getInt(1) > 0);
     }
 
-    private void closeResources(ResultSet rs, PreparedStatement stmt) {
+    private void closeResultSet(ResultSet rs) {
         try {
             if (rs != null)
                 rs.close();
-            if (stmt != null)
-                stmt.close();
         } catch (SQLException e) {
-            logError("Failed to close resources: " + e.getMessage());
+            logError("Failed to close result set: " + e.getMessage());
         }
     }
 
-    private void closeStatement(PreparedStatement stmt) {
+    private void closeResources(ResultSet rs, PreparedStatement stmt) {
         try {
+            if (rs != null)
+                rs.close();
             if (stmt != null)
                 stmt.close();
         } catch (SQLException e) {
-            logError("Failed to close prepared statement: " + e.getMessage());
+            logError("Failed to close resources: " + e.getMessage());
         }
     }
 
     // New methods for tag handling
     public boolean addTag(Tag tag) {
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
         try {
-            ensureConnected();
-            stmt = connection.prepareStatement(SQL_INSERT_TAG, PreparedStatement.RETURN_GENERATED_KEYS);
-            stmt.setString(1, tag.getName());
-            stmt.setString(2, tag.getDescription());
-            
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows == 0) {
-                return false;
-            }
+            return withConnection(conn -> {
+                PreparedStatement stmt = null;
+                ResultSet rs = null;
+                try {
+                    stmt = conn.getConnection().prepareStatement(dialectSql(SQL_INSERT_TAG),
+                            PreparedStatement.RETURN_GENERATED_KEYS);
+                    stmt.setString(1, tag.getName());
+                    stmt.setString(2, tag.getDescription());
 
-            rs = stmt.getGeneratedKeys();
-            if (rs.next()) {
-                // Update the tag object with the auto-generated ID
-                tag.setID(rs.getInt(1));
-                return true;
-            }
-            return false;
+                    int affectedRows = stmt.executeUpdate();
+                    if (affectedRows == 0) {
+                        return false;
+                    }
+
+                    rs = stmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        // Update the tag object with the auto-generated ID
+                        tag.setID(rs.getInt(1));
+                        return true;
+                    }
+                    return false;
+                } finally {
+                    closeResources(rs, stmt);
+                }
+            });
         } catch (SQLException e) {
             logError("Failed to add tag: " + e.getMessage());
             return false;
-        } finally {
-            closeResources(rs, stmt);
         }
     }
 
@@ -646,13 +1035,17 @@ public class MySQLHandler extends Database implements DatabaseOperations {
 
     // New method for updating membership end date
     public boolean updateMembershipEndDate(int studentId, int groupId, java.sql.Date endDate) {
-        return executeUpdate(
+        boolean success = executeUpdate(
                 SQL_UPDATE_MEMBERSHIP_END_DATE,
                 stmt -> {
                     stmt.setDate(1, endDate);
                     stmt.setInt(2, studentId);
                     stmt.setInt(3, groupId);
                 });
+        if (success) {
+            updateGroupSize(groupId);
+        }
+        return success;
     }
 
     public boolean editPost(Post post) {
@@ -661,7 +1054,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 stmt -> {
                     stmt.setString(1, post.getContent());
                     stmt.setInt(2, post.getID());
-                    System.out.println("Updating post ID: " + post.getID() + " with new content: " + post.getContent());
+                    Log.debug(() -> "Updating post ID: " + post.getID() + " with new content: " + post.getContent());
                 });
     }
 
@@ -672,7 +1065,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 stmt -> {
                     stmt.setInt(1, studentId);
                     stmt.setInt(2, groupId);
-                    System.out.println("Removing student " + studentId + " from group " + groupId);
+                    Log.debug(() -> "Removing student " + studentId + " from group " + groupId);
                 });
         if (success) {
             // Update the group size after a member leaves
@@ -701,16 +1094,14 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 SQL_SELECT_STUDENT_BY_ID,
                 stmt -> stmt.setInt(1, studentId),
                 rs -> {
-                    System.out.println("\nVerifying Stored Data:");
                     if (rs.next()) {
-                        System.out.println("Found student in database:");
-                        System.out.println("- userID: " + rs.getInt("userID"));
-                        System.out.println("- userName: " + rs.getString("userName"));
-                        System.out.println("- stored password hash length: " + rs.getString("password").length());
-                        System.out.println("- stored password hash: " + rs.getString("password"));
-                        System.out.println("- userYear: " + rs.getString("userYear"));
+                        int userId = rs.getInt("userID");
+                        String userName = rs.getString("userName");
+                        String userYear = rs.getString("userYear");
+                        Log.debug(() -> "Stored student: userID=" + userId + ", userName=" + userName
+                                + ", userYear=" + userYear);
                     } else {
-                        System.out.println("WARNING: Student not found in database after insertion!");
+                        Log.warn("Student " + studentId + " not found in database after insertion");
                     }
                     return null;
                 });
@@ -723,53 +1114,230 @@ public class MySQLHandler extends Database implements DatabaseOperations {
 
     // Template for queries that return a result
     private <T> T executeQuery(String query, PreparedStatementConsumer preparer, ResultSetHandler<T> handler) {
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
         try {
-            ensureConnected();
-            stmt = prepareStatement(query);
-            preparer.accept(stmt);
-            rs = stmt.executeQuery();
-            return handler.handle(rs);
+            return withConnection(conn -> {
+                PreparedStatement stmt = null;
+                ResultSet rs = null;
+                String sql = dialectSql(query);
+                Map<Integer, Object> parameters = newParameterLog();
+                long start = System.nanoTime();
+                boolean succeeded = false;
+                try {
+                    stmt = conn.prepareStatement(sql);
+                    preparer.accept(recordingBinds(stmt, parameters));
+                    rs = stmt.executeQuery();
+                    T result = handler.handle(rs);
+                    succeeded = true;
+                    return result;
+                } finally {
+                    closeResultSet(rs);
+                    conn.releaseStatement(sql, stmt);
+                    recordTiming(query, parameters, System.nanoTime() - start, 0, !succeeded);
+                }
+            });
         } catch (SQLException e) {
             logError("Failed to execute query: " + e.getMessage());
             return null;
+        }
+    }
+
+    // Template for queries that may return many rows, letting the backend stream them
+    private <T> T executeLargeQuery(String query, PreparedStatementConsumer preparer, ResultSetHandler<T> handler) {
+        try {
+            return withConnection(conn -> {
+                Connection connection = conn.getConnection();
+                PreparedStatement stmt = null;
+                ResultSet rs = null;
+                boolean inTransaction = false;
+                boolean succeeded = false;
+                String sql = dialectSql(query);
+                Map<Integer, Object> parameters = newParameterLog();
+                long start = System.nanoTime();
+                try {
+                    stmt = conn.prepareStatement(sql);
+                    preparer.accept(recordingBinds(stmt, parameters));
+                    inTransaction = beginLargeRead(connection, stmt);
+                    rs = stmt.executeQuery();
+                    T result = handler.handle(rs);
+                    succeeded = true;
+                    return result;
+                } finally {
+                    closeResultSet(rs);
+                    conn.releaseStatement(sql, stmt);
+                    if (inTransaction) {
+                        endLargeRead(connection, succeeded);
+                    }
+                    recordTiming(query, parameters, System.nanoTime() - start, 0, !succeeded);
+                }
+            });
+        } catch (SQLException e) {
+            logError("Failed to execute query: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Template for reads handed to the caller as a Stream of rows. The query runs on its own
+    // connection, which stays borrowed until the stream is exhausted or closed, so callers must
+    // close it (try-with-resources). A query that fails to start is logged and rethrown when the
+    // stream is first read, like a row that fails partway, so it is never mistaken for no rows.
+    private <T> Stream<T> executeStreamingQuery(String query, PreparedStatementConsumer preparer,
+            ResultSetSpliterator.RowMapper<T> mapper) {
+        ensureConnected();
+        PooledConnection conn = null;
+        PreparedStatement stmt = null;
+        boolean inTransaction = false;
+        try {
+            conn = connectionPool.getConnection();
+            // Not from the statement cache, so the streaming fetch size never reaches other queries
+            stmt = conn.getConnection().prepareStatement(dialectSql(query),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparer.accept(stmt);
+            inTransaction = beginStreamingRead(conn.getConnection(), stmt);
+            ResultSet rs = stmt.executeQuery();
+
+            PooledConnection streamConn = conn;
+            PreparedStatement streamStmt = stmt;
+            boolean streamInTransaction = inTransaction;
+            ResultSetSpliterator<T> rows = new ResultSetSpliterator<>(rs, mapper,
+                    succeeded -> {
+                        closeResultSet(rs);
+                        closeStreamingRead(streamConn, streamStmt, streamInTransaction, succeeded);
+                    });
+            return StreamSupport.stream(rows, false).onClose(rows::close);
+        } catch (SQLException e) {
+            logError("Failed to execute streaming query: " + e.getMessage());
+            closeStreamingRead(conn, stmt, inTransaction, false);
+            RuntimeException failure = new RuntimeException("Failed to execute streaming query: " + e.getMessage(), e);
+            return Stream.generate(() -> {
+                throw failure;
+            });
+        }
+    }
+
+    private void closeStreamingRead(PooledConnection conn, PreparedStatement stmt, boolean inTransaction,
+            boolean succeeded) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+            if (inTransaction) {
+                endLargeRead(conn.getConnection(), succeeded);
+            }
+        } catch (SQLException e) {
+            logError("Failed to close streaming query: " + e.getMessage());
         } finally {
-            closeResources(rs, stmt);
+            conn.close();
+        }
+    }
+
+    // Run several bulk inserts as one transaction; returns the total rows inserted, or 0 if it was rolled back
+    private int executeBulkInsert(BulkInsertCallback callback) {
+        try {
+            return withConnection(conn -> {
+                Connection connection = conn.getConnection();
+                connection.setAutoCommit(false);
+                try {
+                    int inserted = callback.insert(conn);
+                    connection.commit();
+                    return inserted;
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            });
+        } catch (SQLException e) {
+            logError("Failed to execute bulk insert: " + e.getMessage());
+            return 0;
         }
     }
 
     // Template for updates/deletes/inserts
     private boolean executeUpdate(String query, PreparedStatementConsumer preparer) {
-        PreparedStatement stmt = null;
         try {
-            System.out.println("\n====== MySQL Execute Update Debug ======");
-            System.out.println("Query: " + query);
-            ensureConnected();
-            stmt = prepareStatement(query);
-            System.out.println("Setting parameters...");
-            preparer.accept(stmt);
-            System.out.println("Parameters set, executing update...");
-            int result = stmt.executeUpdate();
-            System.out.println("Update complete, rows affected: " + result);
-            return result > 0;
+            return withConnection(conn -> {
+                PreparedStatement stmt = null;
+                String sql = dialectSql(query);
+                Map<Integer, Object> parameters = newParameterLog();
+                long start = System.nanoTime();
+                int result = -1;
+                try {
+                    stmt = conn.prepareStatement(sql);
+                    preparer.accept(recordingBinds(stmt, parameters));
+                    result = stmt.executeUpdate();
+                    int affected = result;
+                    Log.debug(() -> "Update affected " + affected + " row(s): " + sql);
+                    return result > 0;
+                } finally {
+                    conn.releaseStatement(sql, stmt);
+                    recordTiming(query, parameters, System.nanoTime() - start, result, result < 0);
+                }
+            });
         } catch (SQLException e) {
-            System.err.println("\n====== MySQL Error Details ======");
-            System.err.println("Error Code: " + e.getErrorCode());
-            System.err.println("SQL State: " + e.getSQLState());
-            System.err.println("Message: " + e.getMessage());
-            System.err.println("\nStack Trace:");
-            e.printStackTrace();
-            System.err.println("\nQuery that caused the error:");
-            System.err.println(query);
-            logError("Failed to execute update: " + e.getMessage());
+            logError("Failed to execute update: " + e.getMessage() + " (error code " + e.getErrorCode()
+                    + ", SQL state " + e.getSQLState() + ")", e);
+            Log.debug(() -> "Query that caused the error: " + query);
             return false;
-        } finally {
-            closeStatement(stmt);
         }
     }
 
+    // Add one execution to the query statistics, and to the slow query log if it ran too long
+    private void recordTiming(String query, Map<Integer, Object> parameters, long nanos, int rowsAffected,
+            boolean failed) {
+        queryStats.record(query, nanos, rowsAffected, failed);
+        SlowQueryLog slowQueryLog = SlowQueryLog.get();
+        if (slowQueryLog.isSlow(nanos)) {
+            slowQueryLog.record(getBackendName(), query, parameters != null ? parameters : new TreeMap<>(), nanos,
+                    failed);
+        }
+    }
+
+    // Where the values a preparer binds are noted for the slow query log, or null when it is off
+    private static Map<Integer, Object> newParameterLog() {
+        return SlowQueryLog.get().isEnabled() ? new TreeMap<>() : null;
+    }
+
+    // The statement itself, or with the slow query log on, a wrapper that notes each value bound
+    // through a setter before passing the call on to the real statement
+    static PreparedStatement recordingBinds(PreparedStatement stmt, Map<Integer, Object> parameters) {
+        if (parameters == null) {
+            return stmt;
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+                MySQLHandler.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(stmt, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getName().startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer) {
+                        parameters.put((Integer) args[0], method.getName().equals("setNull") ? null : args[1]);
+                    } else if (method.getName().equals("clearParameters")) {
+                        parameters.clear();
+                    }
+                    return result;
+                });
+    }
+
     // Functional interfaces
+    @FunctionalInterface
+    protected interface ConnectionCallback<T> {
+        T apply(PooledConnection conn) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface BulkInsertCallback {
+        int insert(PooledConnection conn) throws SQLException;
+    }
+
     @FunctionalInterface
     private interface PreparedStatementConsumer {
         void accept(PreparedStatement stmt) throws SQLException;
@@ -786,7 +1354,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 stmt -> {
                     stmt.setInt(1, fromUserId);
                     stmt.setInt(2, toUserId);
-                    System.out.println("Sending friend request from user " + fromUserId + " to user " + toUserId);
+                    Log.debug(() -> "Sending friend request from user " + fromUserId + " to user " + toUserId);
                 });
     }
 
@@ -794,7 +1362,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
         return executeUpdate(SQL_ACCEPT_FRIEND_REQUEST,
                 stmt -> {
                     stmt.setInt(1, requestId);
-                    System.out.println("Accepting friend request ID: " + requestId);
+                    Log.debug(() -> "Accepting friend request ID: " + requestId);
                 });
     }
 
@@ -802,7 +1370,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
         return executeUpdate(SQL_DECLINE_FRIEND_REQUEST,
                 stmt -> {
                     stmt.setInt(1, requestId);
-                    System.out.println("Declining friend request ID: " + requestId);
+                    Log.debug(() -> "Declining friend request ID: " + requestId);
                 });
     }
 
@@ -827,7 +1395,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 stmt -> {
                     stmt.setInt(1, blockerId);
                     stmt.setInt(2, blockedId);
-                    System.out.println("User " + blockerId + " blocking user " + blockedId);
+                    Log.debug(() -> "User " + blockerId + " blocking user " + blockedId);
                 });
     }
 
@@ -842,7 +1410,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 stmt -> {
                     stmt.setInt(1, userId);
                     stmt.setInt(2, postId);
-                    System.out.println("User " + userId + " bookmarking post " + postId);
+                    Log.debug(() -> "User " + userId + " bookmarking post " + postId);
                 });
     }
 
@@ -857,12 +1425,12 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 stmt -> {
                     stmt.setBoolean(1, isAnonymous);
                     stmt.setInt(2, userId);
-                    System.out.println("Toggling anonymous mode for user " + userId + " to " + isAnonymous);
+                    Log.debug(() -> "Toggling anonymous mode for user " + userId + " to " + isAnonymous);
                 });
     }
 
-    // Helper method for mapping ResultSet to List<Student>
-    private List<Student> mapResultSetToStudentList(ResultSet rs) throws SQLException {
+    // Helper method for mapping ResultSet to List<Student>; package-private for the benchmarks
+    List<Student> mapResultSetToStudentList(ResultSet rs) throws SQLException {
         List<Student> students = new ArrayList<>();
         while (rs.next()) {
             students.add(new Student(
@@ -877,8 +1445,8 @@ public class MySQLHandler extends Database implements DatabaseOperations {
         return students;
     }
 
-    // Helper method for mapping ResultSet to List<Post>
-    private List<Post> mapResultSetToPostList(ResultSet rs) throws SQLException {
+    // Helper method for mapping ResultSet to List<Post>; package-private for the benchmarks
+    List<Post> mapResultSetToPostList(ResultSet rs) throws SQLException {
         List<Post> posts = new ArrayList<>();
         while (rs.next()) {
             Student owner = new Student(
@@ -904,15 +1472,16 @@ public class MySQLHandler extends Database implements DatabaseOperations {
         return posts;
     }
 
+    @Override
     public Student getStudentById(int userId) {
         return executeQuery(SQL_GET_STUDENT_BY_ID,
                 stmt -> stmt.setInt(1, userId),
                 rs -> {
                     if (rs.next()) {
-                        // First create the student
+                        // First create the student (userName holds the email)
                         Student student = new Student(
                                 rs.getInt("userID"),
-                                rs.getString("email"),
+                                rs.getString("userName"),
                                 rs.getString("userName"),
                                 rs.getString("userYear"),
                                 new ArrayList<>(),
@@ -941,25 +1510,45 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 });
     }
 
-    // Add helper methods for member dates
-    private Date getMemberJoinDate(int groupId, int studentId) {
-        return executeQuery(
-                SQL_GET_MEMBER_JOIN_DATE,
-                stmt -> {
-                    stmt.setInt(1, groupId);
-                    stmt.setInt(2, studentId);
-                },
-                rs -> rs.next() ? rs.getTimestamp("joinDate") : null);
-    }
-
-    private Date getMemberEndDate(int groupId, int studentId) {
-        return executeQuery(
-                SQL_GET_MEMBER_END_DATE,
+    @Override
+    public List<Student> getStudentsByIds(int[] studentIds) {
+        Map<Integer, Student> students = new LinkedHashMap<>();
+        for (int from = 0; from < studentIds.length; from += MAX_IN_LIST) {
+            int count = Math.min(MAX_IN_LIST, studentIds.length - from);
+            int listSize = Math.max(8, Integer.highestOneBit(count - 1) << 1);
+            String[] placeholders = new String[listSize];
+            Arrays.fill(placeholders, "?");
+            int first = from;
+            Boolean loaded = executeQuery(
+                SQL_GET_STUDENTS_BY_IDS + "(" + String.join(", ", placeholders) + ")",
                 stmt -> {
-                    stmt.setInt(1, groupId);
-                    stmt.setInt(2, studentId);
+                    // Unused slots repeat the last ID, which matches nothing new
+                    for (int i = 0; i < listSize; i++) {
+                        stmt.setInt(i + 1, studentIds[first + Math.min(i, count - 1)]);
+                    }
                 },
-                rs -> rs.next() ? rs.getTimestamp("endDate") : null);
+                rs -> {
+                    while (rs.next()) {
+                        int id = rs.getInt("userID");
+                        Student student = students.get(id);
+                        if (student == null) {
+                            student = new Student(id, rs.getString("userName"), rs.getString("userName"),
+                                    rs.getString("userYear"), new ArrayList<>(), new ArrayList<>(),
+                                    new ArrayList<>());
+                            students.put(id, student);
+                        }
+                        int tagId = rs.getInt("tagID");
+                        if (!rs.wasNull()) {
+                            student.addTag(new Tag(tagId, rs.getString("name"), rs.getString("description")));
+                        }
+                    }
+                    return true;
+                });
+            if (loaded == null) {
+                return null;
+            }
+        }
+        return new ArrayList<>(students.values());
     }
 
     public boolean removeFriend(int userId, int friendId) {
@@ -970,7 +1559,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                     stmt.setInt(2, friendId);
                     stmt.setInt(3, friendId);
                     stmt.setInt(4, userId);
-                    System.out.println("Removing friendship between users " + userId + " and " + friendId);
+                    Log.debug(() -> "Removing friendship between users " + userId + " and " + friendId);
                 });
     }
 
@@ -980,27 +1569,49 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 stmt -> {
                     stmt.setInt(1, blockerId);
                     stmt.setInt(2, blockedId);
-                    System.out.println("Unblocking user " + blockedId + " for blocker " + blockerId);
+                    Log.debug(() -> "Unblocking user " + blockedId + " for blocker " + blockerId);
                 });
     }
 
     public boolean removeMemberFromGroup(int groupId, int studentId) {
-        return executeUpdate(
+        boolean success = executeUpdate(
                 SQL_REMOVE_GROUP_MEMBER,
                 stmt -> {
                     stmt.setInt(1, groupId);
                     stmt.setInt(2, studentId);
-                    System.out.println("Removing member " + studentId + " from group " + groupId);
+                    Log.debug(() -> "Removing member " + studentId + " from group " + groupId);
                 });
+        if (success) {
+            updateGroupSize(groupId);
+        }
+        return success;
     }
 
     public boolean deleteStudent(int studentId) {
-        return executeUpdate(
-                SQL_DELETE_STUDENT,
-                stmt -> {
-                    stmt.setInt(1, studentId);
-                    System.out.println("Deleting student with ID: " + studentId);
+        Log.debug(() -> "Deleting student with ID: " + studentId);
+        return deleteStudentRow(studentId);
+    }
+
+    // ON DELETE CASCADE drops the student's memberships without touching groupSize, so the
+    // groups they were active in are read first and recounted after the delete
+    private boolean deleteStudentRow(int studentId) {
+        List<Integer> groupIds = executeQuery(
+                SQL_GET_ACTIVE_GROUP_IDS,
+                stmt -> stmt.setInt(1, studentId),
+                rs -> {
+                    List<Integer> ids = new ArrayList<>();
+                    while (rs.next()) {
+                        ids.add(rs.getInt("groupID"));
+                    }
+                    return ids;
                 });
+        boolean success = executeUpdate(SQL_DELETE_STUDENT, stmt -> stmt.setInt(1, studentId));
+        if (success && groupIds != null) {
+            for (int groupId : groupIds) {
+                updateGroupSize(groupId);
+            }
+        }
+        return success;
     }
 
     // Add this method to the class
@@ -1010,52 +1621,94 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 stmt -> {
                     stmt.setString(1, hashPassword(newPassword));
                     stmt.setInt(2, studentId);
-                    System.out.println("Updating password for student ID: " + studentId);
+                    Log.debug(() -> "Updating password for student ID: " + studentId);
                 });
     }
 
     @Override
     public List<Post> getGroupPosts(int groupId) {
-        return executeQuery(
+        return executeLargeQuery(
             SQL_GET_GROUP_POSTS,
             stmt -> stmt.setInt(1, groupId),
             rs -> {
                 List<Post> posts = new ArrayList<>();
                 Group group = getGroupByID(groupId);
                 while (rs.next()) {
-                    Student owner = new Student(
-                        rs.getInt("ownerID"),
-                        rs.getString("userName"),  // Use userName as both username and name
-                        rs.getString("userName"),  // Since email doesn't exist
-                        rs.getString("userYear"),
-                        new ArrayList<>(),
-                        new ArrayList<>(),
-                        new ArrayList<>()
-                    );
-                    owner.setAnonymous(rs.getBoolean("isAnonymous"));
-                    
-                    Post post = new Post(
-                        rs.getInt("postID"),
-                        rs.getString("postContent"),
-                        owner,
-                        group
-                    );
-                    post.setAnonymous(rs.getBoolean("isAnonymous"));
-                    posts.add(post);
+                    posts.add(mapRowToGroupPost(rs, group));
                 }
                 return posts;
             });
     }
 
+    @Override
+    public PostPage getGroupPostsPage(int groupId, PostPage.Cursor cursor, int pageSize,
+            PostPage.Direction direction) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1.");
+        }
+        PostPage.Direction effectiveDirection = cursor == null ? PostPage.Direction.OLDER : direction;
+        String query = cursor == null ? SQL_GET_GROUP_POSTS_FIRST_PAGE
+                : direction == PostPage.Direction.OLDER ? SQL_GET_GROUP_POSTS_OLDER
+                        : SQL_GET_GROUP_POSTS_NEWER;
+
+        // One extra row tells us whether there is another page in this direction
+        List<Post> fetched = executeQuery(
+            query,
+            stmt -> {
+                stmt.setInt(1, groupId);
+                int next = 2;
+                if (cursor != null) {
+                    Timestamp cursorDate = new Timestamp(cursor.getPostDate().getTime());
+                    stmt.setTimestamp(next++, cursorDate);
+                    stmt.setTimestamp(next++, cursorDate);
+                    stmt.setInt(next++, cursor.getPostID());
+                }
+                stmt.setInt(next, pageSize + 1);
+            },
+            rs -> {
+                List<Post> posts = new ArrayList<>();
+                Group group = getGroupByID(groupId);
+                while (rs.next()) {
+                    posts.add(mapRowToGroupPost(rs, group));
+                }
+                return posts;
+            });
+        if (fetched == null) {
+            return null;
+        }
+        return PostPage.fromFetched(fetched, pageSize, cursor, effectiveDirection);
+    }
+
+    // Helper method for mapping a row of SQL_SELECT_GROUP_POSTS
+    private Post mapRowToGroupPost(ResultSet rs, Group group) throws SQLException {
+        Student owner = new Student(
+            rs.getInt("ownerID"),
+            rs.getString("userName"),  // Use userName as both username and name
+            rs.getString("userName"),  // Since email doesn't exist
+            rs.getString("userYear"),
+            new ArrayList<>(),
+            new ArrayList<>(),
+            new ArrayList<>()
+        );
+        owner.setAnonymous(rs.getBoolean("isAnonymous"));
+
+        Post post = new Post(
+            rs.getInt("postID"),
+            rs.getString("postContent"),
+            owner,
+            group
+        );
+        post.setAnonymous(rs.getBoolean("isAnonymous"));
+        post.setPostDate(rs.getTimestamp("postDate"));
+        return post;
+    }
+
     @Override
     public Group getGroupByID(int groupId) {
         return executeQuery(
-                "SELECT * FROM " + TABLE_GROUPS + " WHERE groupID = ?",
+                SQL_SELECT_GROUP_BY_ID,
                 stmt -> stmt.setInt(1, groupId),
-                rs -> rs.next() ? new Group(
-                        rs.getInt("groupID"),
-                        rs.getString("groupName"),
-                        rs.getString("groupDescription")) : null);
+                rs -> rs.next() ? mapRowToLazyGroup(rs) : null);
     }
 
     @Override
@@ -1071,12 +1724,16 @@ public class MySQLHandler extends Database implements DatabaseOperations {
 
     @Override
     public boolean joinGroup(int studentId, int groupId) {
-        return executeUpdate(SQL_JOIN_GROUP,
+        boolean success = executeUpdate(SQL_JOIN_GROUP,
                 stmt -> {
                     stmt.setInt(1, studentId);
                     stmt.setInt(2, groupId);
-                    System.out.println("Adding student " + studentId + " to group " + groupId);
+                    Log.debug(() -> "Adding student " + studentId + " to group " + groupId);
                 });
+        if (success) {
+            updateGroupSize(groupId);
+        }
+        return success;
     }
 
     // @Override
@@ -1090,55 +1747,18 @@ public class MySQLHandler extends Database implements DatabaseOperations {
     // });
     // }
 
+    // Callers look a group up by name to check or change its membership, so the members and
+    // their dates come back in the same query rather than through the lazy loader
     @Override
     public Group findGroupByName(String groupName) {
-        return executeQuery(SQL_FIND_GROUP_BY_NAME,
+        List<Group> groups = executeQuery(SQL_FIND_GROUP_BY_NAME_WITH_MEMBERS,
                 stmt -> stmt.setString(1, groupName),
-                rs -> {
-                    if (!rs.next())
-                        return null;
-                    Group group = new Group(
-                            rs.getInt("groupID"),
-                            rs.getString("groupName"),
-                            rs.getString("groupDescription"));
-
-                    // Load members for this group
-                    executeQuery(
-                            SQL_SELECT_GROUP_MEMBERS_DETAILED,
-                            memberStmt -> memberStmt.setInt(1, group.getID()),
-                            memberRs -> {
-                                while (memberRs.next()) {
-                                    Student member = new Student(
-                                            memberRs.getInt("userID"),
-                                            null,
-                                            memberRs.getString("userName"),
-                                            memberRs.getString("userYear"),
-                                            new ArrayList<>(),
-                                            new ArrayList<>(),
-                                            new ArrayList<>());
-                                    group.addMember(member);
-
-                                    // Load join and end dates
-                                    Date joinDate = getMemberJoinDate(group.getID(), member.getID());
-                                    Date endDate = getMemberEndDate(group.getID(), member.getID());
-                                    if (joinDate != null) {
-                                        group.setMemberJoinDate(member, joinDate);
-                                    }
-                                    if (endDate != null) {
-                                        group.setMemberEndDate(member, endDate);
-                                    }
-                                }
-                                return group;
-                            });
-                    return group;
-                });
+                this::mapResultSetToGroupList);
+        return groups == null || groups.isEmpty() ? null : groups.get(0);
     }
 
-    private int generateUniquePostId() {
-        return executeQuery(SQL_GET_MAX_POST_ID,
-                stmt -> {
-                },
-                rs -> rs.next() ? rs.getInt(1) + 1 : 1);
+    private int generateUniquePostId() throws SQLException {
+        return postIdAllocator.nextId();
     }
 
     @Override
@@ -1147,7 +1767,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 SQL_DELETE_POST,
                 stmt -> {
                     stmt.setInt(1, postId);
-                    System.out.println("Deleting post with ID: " + postId);
+                    Log.debug(() -> "Deleting post with ID: " + postId);
                 });
     }
 
@@ -1182,7 +1802,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 stmt -> {
                     stmt.setInt(1, requesterId);
                     stmt.setInt(2, accepterId);
-                    System.out.println("Adding friendship between users " + requesterId + " and " + accepterId);
+                    Log.debug(() -> "Adding friendship between users " + requesterId + " and " + accepterId);
                 });
     }
 
@@ -1215,6 +1835,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                 this::mapResultSetToStudentList);
     }
 
+    @Override
     public Student findStudentByEmail(String email) {
         return executeQuery(
                 SQL_GET_STUDENT_BY_EMAIL,
@@ -1223,7 +1844,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
                     if (rs.next()) {
                         return new Student(
                                 rs.getInt("userID"),
-                                rs.getString("email"),
+                                rs.getString("userName"),
                                 rs.getString("userName"),
                                 rs.getString("userYear"),
                                 new ArrayList<>(),
@@ -1237,40 +1858,32 @@ public class MySQLHandler extends Database implements DatabaseOperations {
     @Override
     public boolean resetDatabase() {
         try {
-            System.out.println("Resetting database...");
-            
-            // Read the entire SQL script into a single string
-            StringBuilder fullScript = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new FileReader("src/createDB.sql"))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    // Skip comments and empty lines
-                    if (line.trim().isEmpty() || line.trim().startsWith("--")) {
-                        continue;
-                    }
-                    fullScript.append(line).append("\n");
+            Log.info("Resetting database...");
+            withConnection(conn -> {
+                try {
+                    recreateSchema(conn);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-            }
+                conn.clearStatementCache();
+                return null;
+            });
 
-            // Split into individual statements and execute each one
-            String[] statements = fullScript.toString().split(";");
-            for (String statement : statements) {
-                statement = statement.trim();
-                if (!statement.isEmpty()) {
-                    if (!executeUpdate(statement + ";")) {
-                        System.err.println("Failed statement: " + statement);
-                    }
-                }
-            }
-            
-            System.out.println("Database reset complete!");
+            // Other pooled connections were opened against the dropped database
+            connectionPool.retireIdleConnections();
+
+            // Reserved ID blocks belonged to the old tables
+            seededSequences.clear();
+            postIdAllocator.reset();
+            groupIdAllocator.reset();
+            Log.info("Database reset complete!");
             return true;
             
-        } catch (IOException e) {
-            System.err.println("Failed to read SQL script: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            Log.error("Failed to read SQL script: " + e.getCause().getMessage());
             return false;
         } catch (Exception e) {
-            System.err.println("Failed to reset database: " + e.getMessage());
+            Log.error("Failed to reset database: " + e.getMessage());
             return false;
         }
     }
@@ -1278,65 +1891,96 @@ public class MySQLHandler extends Database implements DatabaseOperations {
     // Add this method to execute SQL updates
     @Override
     public boolean executeUpdate(String sql) {
-        ensureConnected();
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.executeUpdate();
-            return true;
+        try {
+            return withConnection(conn -> {
+                long start = System.nanoTime();
+                int result = -1;
+                try (PreparedStatement stmt = conn.getConnection().prepareStatement(dialectSql(sql))) {
+                    result = stmt.executeUpdate();
+                    return true;
+                } finally {
+                    recordTiming(sql, null, System.nanoTime() - start, result, result < 0);
+                }
+            });
         } catch (SQLException e) {
-            System.err.println("Error executing SQL update: " + e.getMessage());
+            Log.error("Error executing SQL update: " + e.getMessage());
             return false;
         }
     }
 
     public List<Student> getAllStudents() {
-        return executeQuery(
-            "SELECT * FROM " + TABLE_STUDENTS,
+        return executeLargeQuery(
+            SQL_GET_ALL_STUDENTS,
             stmt -> {}, // No parameters needed
             rs -> {
                 List<Student> students = new ArrayList<>();
                 while (rs.next()) {
-                    students.add(new Student(
-                        rs.getInt("userID"),
-                        rs.getString("userName"),  // This is the email/username
-                        rs.getString("userName"),  // Using username as name since there's no separate name field
-                        rs.getString("userYear"),
-                        new ArrayList<>(),
-                        new ArrayList<>(),
-                        new ArrayList<>()
-                    ));
+                    students.add(mapRowToListedStudent(rs));
                 }
                 return students;
             }
         );
     }
 
+    // Walks every student without holding them all in memory; close the stream when done
+    @Override
+    public Stream<Student> streamAllStudents() {
+        return executeStreamingQuery(SQL_GET_ALL_STUDENTS, stmt -> {}, this::mapRowToListedStudent);
+    }
+
+    private Student mapRowToListedStudent(ResultSet rs) throws SQLException {
+        return new Student(
+            rs.getInt("userID"),
+            rs.getString("userName"),  // This is the email/username
+            rs.getString("userName"),  // Using username as name since there's no separate name field
+            rs.getString("userYear"),
+            new ArrayList<>(),
+            new ArrayList<>(),
+            new ArrayList<>()
+        );
+    }
+
     @Override
     public boolean isConnected() {
-        try {
-            return connection != null && !connection.isClosed();
-        } catch (SQLException e) {
-            return false;
-        }
+        ConnectionPool pool = connectionPool;
+        return pool != null && !pool.isClosed();
     }
 
     public List<Tag> getAllTags() {
-        return executeQuery(
+        return executeLargeQuery(
             SQL_GET_ALL_TAGS,
             stmt -> {},
             rs -> {
                 List<Tag> tags = new ArrayList<>();
                 while (rs.next()) {
-                    tags.add(new Tag(
-                        rs.getInt("tagID"),
-                        rs.getString("name"),
-                        rs.getString("description")
-                    ));
+                    tags.add(mapRowToTag(rs));
                 }
                 return tags;
             }
         );
     }
 
+    // Walks every tag without holding them all in memory; close the stream when done
+    @Override
+    public Stream<Tag> streamAllTags() {
+        return executeStreamingQuery(SQL_GET_ALL_TAGS, stmt -> {}, this::mapRowToTag);
+    }
+
+    // Walks the friends table as {userID1, userID2} pairs; close the stream when done
+    @Override
+    public Stream<int[]> streamAllFriendships() {
+        return executeStreamingQuery(SQL_GET_ALL_FRIENDSHIPS, stmt -> {},
+                rs -> new int[] { rs.getInt("userID1"), rs.getInt("userID2") });
+    }
+
+    private Tag mapRowToTag(ResultSet rs) throws SQLException {
+        return new Tag(
+            rs.getInt("tagID"),
+            rs.getString("name"),
+            rs.getString("description")
+        );
+    }
+
     public boolean updateTag(Tag tag) {
         return executeUpdate(
             SQL_UPDATE_TAG,
@@ -1369,6 +2013,46 @@ public class MySQLHandler extends Database implements DatabaseOperations {
         );
     }
 
+    @Override
+    public int[] getSharedGroupMemberIds(int studentId) {
+        return queryStudentIds(SQL_GET_SHARED_GROUP_MEMBER_IDS, stmt -> stmt.setInt(1, studentId));
+    }
+
+    @Override
+    public int[] getSharedTagStudentIds(int studentId) {
+        return queryStudentIds(SQL_GET_SHARED_TAG_STUDENT_IDS, stmt -> stmt.setInt(1, studentId));
+    }
+
+    @Override
+    public int[] getBlockedOrRequestedIds(int studentId) {
+        return queryStudentIds(SQL_GET_BLOCKED_OR_REQUESTED_IDS, stmt -> {
+            // One placeholder per branch of the UNION ALL
+            for (int i = 1; i <= 4; i++) {
+                stmt.setInt(i, studentId);
+            }
+        });
+    }
+
+    // The first column of every row, or an empty array if the query failed
+    private int[] queryStudentIds(String query, PreparedStatementConsumer preparer) {
+        int[] ids = executeQuery(
+            query,
+            preparer,
+            rs -> {
+                int[] found = new int[16];
+                int count = 0;
+                while (rs.next()) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count * 2);
+                    }
+                    found[count++] = rs.getInt(1);
+                }
+                return Arrays.copyOf(found, count);
+            }
+        );
+        return ids != null ? ids : new int[0];
+    }
+
     public List<Post> getStudentPosts(int studentId) {
         return executeQuery(
             SQL_GET_STUDENT_POSTS,
@@ -1405,7 +2089,7 @@ public class MySQLHandler extends Database implements DatabaseOperations {
             stmt -> {
                 stmt.setInt(1, userId);
                 stmt.setInt(2, userId);
-                System.out.println("Removing all friendships for user: " + userId);
+                Log.debug(() -> "Removing all friendships for user: " + userId);
             });
     }
 
@@ -0,0 +1,80 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public class PooledConnection implements AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final StatementCache statementCache;
+    private long lastReturnedAt;
+    private boolean borrowed;
+
+    PooledConnection(ConnectionPool pool, Connection connection, StatementCache statementCache) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statementCache = statementCache;
+        this.lastReturnedAt = System.currentTimeMillis();
+    }
+
+    // The underlying JDBC connection; only valid while this connection is borrowed
+    public Connection getConnection() {
+        if (!borrowed) {
+            throw new IllegalStateException("Connection has already been returned to the pool.");
+        }
+        return connection;
+    }
+
+    // Prepare a statement through this connection's statement cache; hand it back
+    // with releaseStatement rather than closing it
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        PreparedStatement stmt = statementCache.checkOut(sql);
+        if (stmt == null) {
+            stmt = getConnection().prepareStatement(sql);
+        }
+        return stmt;
+    }
+
+    public void releaseStatement(String sql, PreparedStatement stmt) {
+        statementCache.checkIn(sql, stmt);
+    }
+
+    // Drop cached statements, e.g. after the schema they were prepared against changed
+    public void clearStatementCache() {
+        statementCache.clear();
+    }
+
+    Connection getPhysicalConnection() {
+        return connection;
+    }
+
+    long getIdleMillis(long now) {
+        return now - lastReturnedAt;
+    }
+
+    void markBorrowed() {
+        borrowed = true;
+    }
+
+    void markIdle() {
+        lastReturnedAt = System.currentTimeMillis();
+    }
+
+    void closePhysical() {
+        statementCache.clear();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Log.error("[Database Error] Failed to close pooled connection: " + e.getMessage());
+        }
+    }
+
+    // Returns the connection to the pool instead of closing it
+    @Override
+    public void close() {
+        if (borrowed) {
+            borrowed = false;
+            pool.release(this);
+        }
+    }
+}
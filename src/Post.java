@@ -1,3 +1,5 @@
+import java.util.Date;
+
 public class Post {
 
     // Attributes
@@ -6,6 +8,7 @@ public class Post {
     private Student postOwner;
     private Group postGroup;
     private boolean isAnonymous;
+    private Date postDate; // Set when loaded from the database
 
     // Constructor
     public Post(int postID, String postContent, Student postOwner, Group postGroup) {
@@ -37,6 +40,10 @@ public class Post {
         return isAnonymous;
     }
 
+    public Date getPostDate() {
+        return postDate;
+    }
+
     // Setters
     public void setID(int postID) {
         this.postID = postID;
@@ -58,6 +65,10 @@ public class Post {
         this.isAnonymous = isAnonymous;
     }
 
+    public void setPostDate(Date postDate) {
+        this.postDate = postDate;
+    }
+
     // Method to check if the post belongs to a specific group
     public boolean isInGroup(Group group) {
         return this.postGroup.equals(group);
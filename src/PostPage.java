@@ -0,0 +1,100 @@
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+// One page of a group's posts, newest first, with cursors for the neighbouring pages.
+// Pages are keyed on (postDate, postID) rather than an offset, so fetching a page costs
+// the same however deep into the history it is, and new posts don't shift the pages.
+public class PostPage {
+
+    public enum Direction {
+        OLDER,
+        NEWER
+    }
+
+    // Position of a post in the (postDate DESC, postID DESC) order
+    public static final class Cursor {
+        private final Date postDate;
+        private final int postID;
+
+        public Cursor(Date postDate, int postID) {
+            if (postDate == null) {
+                throw new IllegalArgumentException("Cursor post date cannot be null.");
+            }
+            this.postDate = new Date(postDate.getTime());
+            this.postID = postID;
+        }
+
+        public static Cursor of(Post post) {
+            return new Cursor(post.getPostDate(), post.getID());
+        }
+
+        public Date getPostDate() {
+            return new Date(postDate.getTime());
+        }
+
+        public int getPostID() {
+            return postID;
+        }
+
+        // True if a post at (otherDate, otherID) is older than this position
+        public boolean isOlder(Date otherDate, int otherID) {
+            int byDate = otherDate.compareTo(postDate);
+            return byDate != 0 ? byDate < 0 : otherID < postID;
+        }
+
+        // True if a post at (otherDate, otherID) is newer than this position
+        public boolean isNewer(Date otherDate, int otherID) {
+            int byDate = otherDate.compareTo(postDate);
+            return byDate != 0 ? byDate > 0 : otherID > postID;
+        }
+    }
+
+    private final List<Post> posts;
+    private final boolean hasOlder;
+    private final boolean hasNewer;
+
+    public PostPage(List<Post> posts, boolean hasOlder, boolean hasNewer) {
+        this.posts = Collections.unmodifiableList(posts);
+        this.hasOlder = hasOlder;
+        this.hasNewer = hasNewer;
+    }
+
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    public boolean isEmpty() {
+        return posts.isEmpty();
+    }
+
+    public boolean hasOlder() {
+        return hasOlder && !posts.isEmpty();
+    }
+
+    public boolean hasNewer() {
+        return hasNewer && !posts.isEmpty();
+    }
+
+    // Cursor to pass with Direction.OLDER for the next page back
+    public Cursor getOlderCursor() {
+        return posts.isEmpty() ? null : Cursor.of(posts.get(posts.size() - 1));
+    }
+
+    // Cursor to pass with Direction.NEWER for the previous page
+    public Cursor getNewerCursor() {
+        return posts.isEmpty() ? null : Cursor.of(posts.get(0));
+    }
+
+    // Trim an over-fetched result (pageSize + 1 rows in the direction of travel) into a page
+    public static PostPage fromFetched(List<Post> fetched, int pageSize, Cursor cursor, Direction direction) {
+        boolean more = fetched.size() > pageSize;
+        List<Post> page = more ? fetched.subList(0, pageSize) : fetched;
+        if (direction == Direction.NEWER) {
+            // Newer pages are fetched oldest first so the LIMIT keeps the posts nearest the cursor
+            Collections.reverse(page);
+            return new PostPage(page, cursor != null, more);
+        }
+        return new PostPage(page, more, cursor != null);
+    }
+}
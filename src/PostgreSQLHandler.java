@@ -0,0 +1,159 @@
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+// PostgreSQL backend. The queries are shared with MySQLHandler; this class swaps in the
+// PostgreSQL driver and schema, loads bulk inserts with COPY, and reads large result sets
+// through a server-side cursor instead of buffering them in the driver.
+public class PostgreSQLHandler extends MySQLHandler {
+
+    // Rows per COPY round trip, so a large load is not built as one giant string
+    private static final int COPY_CHUNK_ROWS = 10000;
+
+    public PostgreSQLHandler(String dbName) {
+        super(dbName);
+    }
+
+    @Override
+    protected String getBackendName() {
+        return "PostgreSQL";
+    }
+
+    @Override
+    protected String getDriverClassName() {
+        return "org.postgresql.Driver";
+    }
+
+    @Override
+    protected String getConnectionUrl() {
+        return DatabaseConfig.getPostgresConnectionUrl();
+    }
+
+    @Override
+    protected String getConnectionUser() {
+        return DatabaseConfig.DB_PG_USER;
+    }
+
+    @Override
+    protected String getConnectionPassword() {
+        return DatabaseConfig.DB_PG_PASSWORD;
+    }
+
+    @Override
+    protected String getSchemaScriptPath() {
+        return "src/createDB_postgres.sql";
+    }
+
+    // The driver only uses a cursor when autocommit is off and a fetch size is set
+    @Override
+    protected boolean beginLargeRead(Connection connection, PreparedStatement stmt) throws SQLException {
+        stmt.setFetchSize(DatabaseConfig.DB_FETCH_SIZE);
+        if (!connection.getAutoCommit()) {
+            // Already inside the caller's transaction, which keeps the cursor open
+            return false;
+        }
+        connection.setAutoCommit(false);
+        return true;
+    }
+
+    // Streams use the same server-side cursor, fetched DB_FETCH_SIZE rows at a time
+    @Override
+    protected boolean beginStreamingRead(Connection connection, PreparedStatement stmt) throws SQLException {
+        return beginLargeRead(connection, stmt);
+    }
+
+    @Override
+    protected void endLargeRead(Connection connection, boolean succeeded) throws SQLException {
+        try {
+            if (succeeded) {
+                connection.commit();
+            } else {
+                connection.rollback();
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    @Override
+    protected int bulkInsert(PooledConnection conn, String table, List<String> columns, List<Object[]> rows)
+            throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+        int copied = 0;
+        StringBuilder data = new StringBuilder();
+        int pending = 0;
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    data.append('\t');
+                }
+                appendCopyValue(data, row[i]);
+            }
+            data.append('\n');
+            if (++pending == COPY_CHUNK_ROWS) {
+                copied += copyIn(conn.getConnection(), sql, new StringReader(data.toString()));
+                data.setLength(0);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            copied += copyIn(conn.getConnection(), sql, new StringReader(data.toString()));
+        }
+        return copied;
+    }
+
+    // COPY text format: tab-separated columns, \N for NULL, backslash escapes for control characters
+    private static void appendCopyValue(StringBuilder data, Object value) {
+        if (value == null) {
+            data.append("\\N");
+        } else if (value instanceof Boolean) {
+            data.append((Boolean) value ? 't' : 'f');
+        } else {
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\':
+                        data.append("\\\\");
+                        break;
+                    case '\t':
+                        data.append("\\t");
+                        break;
+                    case '\n':
+                        data.append("\\n");
+                        break;
+                    case '\r':
+                        data.append("\\r");
+                        break;
+                    default:
+                        data.append(c);
+                }
+            }
+        }
+    }
+
+    // CopyManager is reached reflectively so the PostgreSQL driver is only needed at runtime,
+    // like the MySQL driver
+    private static int copyIn(Connection connection, String sql, Reader data) throws SQLException {
+        try {
+            Class<?> pgConnectionClass = Class.forName("org.postgresql.PGConnection");
+            Object pgConnection = connection.unwrap(pgConnectionClass);
+            Object copyManager = pgConnectionClass.getMethod("getCopyAPI").invoke(pgConnection);
+            Object copied = copyManager.getClass().getMethod("copyIn", String.class, Reader.class)
+                    .invoke(copyManager, sql, data);
+            return ((Number) copied).intValue();
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException("COPY failed: " + cause.getMessage(), cause);
+        } catch (ReflectiveOperationException e) {
+            throw new SQLException("PostgreSQL COPY API is not available: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+// Needs a running PostgreSQL server with the citext extension available; run with -Ppostgres
+public class PostgreSQLHandlerTest {
+
+    public PostgreSQLHandler database;
+
+    @Before
+    public void init() {
+        database = (PostgreSQLHandler) DatabaseFactory.getDatabase(DatabaseFactory.DatabaseType.POSTGRESQL,
+                "StudentDB");
+        database.connect();
+        assertTrue(database.resetDatabase());
+    }
+
+    @After
+    public void cleanUp() {
+        database.resetDatabase();
+        database.disconnect();
+    }
+
+    // passes when student, group and tag names are matched regardless of case, as on MySQL
+    @Test
+    public void nameLookupsIgnoreCase() {
+        Student bob = new Student(0, "Bob@ILSTU.edu", "Bob@ILSTU.edu", "Senior", null, null, null);
+        assertTrue(database.addStudent(bob, "secret"));
+        assertNotNull(database.getStudentByUsername("bob@ilstu.edu"));
+        assertTrue(database.doesUsernameExist("BOB@ilstu.EDU"));
+
+        assertTrue(database.addGroup(new Group(0, "IT326", "project class")));
+        assertNotNull(database.findGroupByName("it326"));
+
+        assertTrue(database.addTag(new Tag("IT", "information technology")));
+        assertTrue(database.containsTag(new Tag("it", "information technology")));
+    }
+}
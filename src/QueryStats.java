@@ -0,0 +1,110 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-statement latency, call, error and row counts for the queries a backend runs, keyed by
+// the SQL text before dialect rewriting so the same statement reports alike on every backend.
+// Recording is lock-free, so it stays on under load (see DB_QUERY_STATS).
+public class QueryStats {
+
+    // Raw SQL run through executeUpdate(String) can be different every time, so past this many
+    // distinct statements the rest are counted together
+    static final int MAX_STATEMENTS = 500;
+    static final String OTHER_STATEMENTS = "(other statements)";
+
+    public static final class StatementStats {
+        private final String sql;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rowsAffected = new LongAdder();
+
+        StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getCalls() {
+            return latency.getCount();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getRowsAffected() {
+            return rowsAffected.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d calls, %d errors, %d rows | mean %s, p50 %s, p99 %s, max %s | %s",
+                    getCalls(), getErrors(), getRowsAffected(), millis(latency.getMeanNanos()),
+                    millis(latency.getPercentileNanos(50)), millis(latency.getPercentileNanos(99)),
+                    millis(latency.getMaxNanos()), sql);
+        }
+    }
+
+    private final ConcurrentHashMap<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+    // Record one execution; rowsAffected is the update count, or 0 for queries
+    public void record(String sql, long nanos, int rowsAffected, boolean failed) {
+        if (!DatabaseConfig.DB_QUERY_STATS) {
+            return;
+        }
+        StatementStats stats = statements.get(sql);
+        if (stats == null) {
+            String key = statements.size() < MAX_STATEMENTS ? sql : OTHER_STATEMENTS;
+            stats = statements.computeIfAbsent(key, StatementStats::new);
+        }
+        stats.latency.record(nanos);
+        if (failed) {
+            stats.errors.increment();
+        } else if (rowsAffected > 0) {
+            stats.rowsAffected.add(rowsAffected);
+        }
+    }
+
+    public StatementStats get(String sql) {
+        return statements.get(sql);
+    }
+
+    // Every statement seen so far, the most total time first
+    public List<StatementStats> getStatements() {
+        List<StatementStats> sorted = new ArrayList<>(statements.values());
+        sorted.sort(Comparator.comparingLong((StatementStats s) -> s.latency.getTotalNanos()).reversed());
+        return sorted;
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    // The statements that took the most total time, one per line
+    public String report(int limit) {
+        List<StatementStats> sorted = getStatements();
+        if (sorted.isEmpty()) {
+            return "No queries recorded.";
+        }
+        StringBuilder report = new StringBuilder();
+        for (int i = 0; i < Math.min(limit, sorted.size()); i++) {
+            if (i > 0) {
+                report.append('\n');
+            }
+            report.append(i + 1).append(". ").append(sorted.get(i));
+        }
+        return report.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+}
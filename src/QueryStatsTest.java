@@ -0,0 +1,18 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class QueryStatsTest {
+
+    // passes when distinct raw statements past the cap are counted in one shared entry
+    @Test
+    public void distinctStatementsAreCapped() {
+        QueryStats stats = new QueryStats();
+        for (int i = 0; i < QueryStats.MAX_STATEMENTS * 3; i++) {
+            stats.record("DELETE FROM posts WHERE postID = " + i, 1000, 1, false);
+        }
+        stats.record("DELETE FROM posts WHERE postID = 0", 1000, 1, false);
+        assertEquals(QueryStats.MAX_STATEMENTS + 1, stats.getStatements().size());
+        assertEquals(2, stats.get("DELETE FROM posts WHERE postID = 0").getCalls());
+        assertEquals(QueryStats.MAX_STATEMENTS * 2, stats.get(QueryStats.OTHER_STATEMENTS).getCalls());
+    }
+}
@@ -0,0 +1,66 @@
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+// Feeds a Stream from an open ResultSet one row at a time. The cleanup (closing the result set,
+// statement and connection) runs once, when the rows run out, a row fails to read, or the stream
+// is closed early.
+class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> implements AutoCloseable {
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface Cleanup {
+        void run(boolean succeeded);
+    }
+
+    private final ResultSet rs;
+    private final RowMapper<T> mapper;
+    private final Cleanup cleanup;
+    private boolean finished;
+
+    ResultSetSpliterator(ResultSet rs, RowMapper<T> mapper, Cleanup cleanup) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.rs = rs;
+        this.mapper = mapper;
+        this.cleanup = cleanup;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (finished) {
+            return false;
+        }
+        T row;
+        try {
+            if (!rs.next()) {
+                finish(true);
+                return false;
+            }
+            row = mapper.map(rs);
+        } catch (SQLException e) {
+            finish(false);
+            throw new RuntimeException("Failed to read streamed row: " + e.getMessage(), e);
+        }
+        action.accept(row);
+        return true;
+    }
+
+    // Stopping early is not a failure; the rows already read were valid
+    @Override
+    public void close() {
+        finish(true);
+    }
+
+    private void finish(boolean succeeded) {
+        if (!finished) {
+            finished = true;
+            cleanup.run(succeeded);
+        }
+    }
+}
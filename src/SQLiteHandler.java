@@ -0,0 +1,223 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Embedded SQLite backend for single-node deployments. The queries are shared with
+// MySQLHandler; the database is a local file in WAL mode, so readers on other pooled
+// connections are never blocked by the writer. The schema is created on first start.
+public class SQLiteHandler extends MySQLHandler {
+
+    // Timestamps are stored as local-time text in the same format SQLite's datetime() produces,
+    // so bound values and SQL-side defaults compare correctly as strings
+    private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    private static final String SQLITE_NOW = "datetime('now', 'localtime')";
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    // Same tables as createDB.sql; name columns use NOCASE to match MySQL's case-insensitive collation
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS students ("
+                    + "userID INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "userName VARCHAR(255) NOT NULL COLLATE NOCASE, "
+                    + "password VARCHAR(255) NOT NULL, "
+                    + "userYear VARCHAR(20) NOT NULL, "
+                    + "isAnonymous BOOLEAN DEFAULT 0)",
+            "CREATE INDEX IF NOT EXISTS idx_students_userName ON students (userName)",
+            "CREATE TABLE IF NOT EXISTS student_groups ("
+                    + "groupID INTEGER PRIMARY KEY, "
+                    + "groupName VARCHAR(100) NOT NULL COLLATE NOCASE, "
+                    + "groupSize INT DEFAULT 0, "
+                    + "groupDescription TEXT, "
+                    + "creationDate TIMESTAMP DEFAULT (" + SQLITE_NOW + "))",
+            "CREATE TABLE IF NOT EXISTS posts ("
+                    + "postID INTEGER PRIMARY KEY, "
+                    + "postContent TEXT NOT NULL, "
+                    + "postOwner INT REFERENCES students (userID) ON DELETE CASCADE, "
+                    + "postDate TIMESTAMP NOT NULL DEFAULT (" + SQLITE_NOW + "), "
+                    + "isAnonymous BOOLEAN DEFAULT 0)",
+            "CREATE TABLE IF NOT EXISTS tags ("
+                    + "tagID INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "name VARCHAR(50) NOT NULL UNIQUE COLLATE NOCASE, "
+                    + "description TEXT)",
+            "CREATE TABLE IF NOT EXISTS id_allocators ("
+                    + "name VARCHAR(50) PRIMARY KEY, "
+                    + "nextValue INT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS group_memberships ("
+                    + "groupID INT REFERENCES student_groups (groupID) ON DELETE CASCADE, "
+                    + "studentID INT REFERENCES students (userID) ON DELETE CASCADE, "
+                    + "joinDate TIMESTAMP NOT NULL DEFAULT (" + SQLITE_NOW + "), "
+                    + "endDate DATE, "
+                    + "PRIMARY KEY (groupID, studentID))",
+            "CREATE INDEX IF NOT EXISTS idx_group_memberships_studentID ON group_memberships (studentID)",
+            "CREATE TABLE IF NOT EXISTS student_tags ("
+                    + "studentID INT REFERENCES students (userID) ON DELETE CASCADE, "
+                    + "tagID INT REFERENCES tags (tagID) ON DELETE CASCADE, "
+                    + "PRIMARY KEY (studentID, tagID))",
+            "CREATE TABLE IF NOT EXISTS post_groups ("
+                    + "postID INT REFERENCES posts (postID) ON DELETE CASCADE, "
+                    + "groupID INT REFERENCES student_groups (groupID) ON DELETE CASCADE, "
+                    + "PRIMARY KEY (postID, groupID))",
+            "CREATE INDEX IF NOT EXISTS idx_posts_postDate ON posts (postDate, postID)",
+            "CREATE INDEX IF NOT EXISTS idx_post_groups_groupID ON post_groups (groupID, postID)",
+            "CREATE TABLE IF NOT EXISTS friend_requests ("
+                    + "requestID INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "fromUserID INT REFERENCES students (userID) ON DELETE CASCADE, "
+                    + "toUserID INT REFERENCES students (userID) ON DELETE CASCADE, "
+                    + "requestDate TIMESTAMP DEFAULT (" + SQLITE_NOW + "), "
+                    + "status TEXT DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'ACCEPTED', 'DECLINED')))",
+            "CREATE TABLE IF NOT EXISTS friends ("
+                    + "userID1 INT REFERENCES students (userID) ON DELETE CASCADE, "
+                    + "userID2 INT REFERENCES students (userID) ON DELETE CASCADE, "
+                    + "friendshipDate TIMESTAMP DEFAULT (" + SQLITE_NOW + "), "
+                    + "PRIMARY KEY (userID1, userID2))",
+            "CREATE TABLE IF NOT EXISTS blocked_users ("
+                    + "blockerID INT REFERENCES students (userID) ON DELETE CASCADE, "
+                    + "blockedID INT REFERENCES students (userID) ON DELETE CASCADE, "
+                    + "blockDate TIMESTAMP DEFAULT (" + SQLITE_NOW + "), "
+                    + "PRIMARY KEY (blockerID, blockedID))",
+            "CREATE TABLE IF NOT EXISTS bookmarked_posts ("
+                    + "userID INT REFERENCES students (userID) ON DELETE CASCADE, "
+                    + "postID INT REFERENCES posts (postID) ON DELETE CASCADE, "
+                    + "bookmarkDate TIMESTAMP DEFAULT (" + SQLITE_NOW + "), "
+                    + "PRIMARY KEY (userID, postID))"
+    };
+
+    // Children first, so foreign keys never block a drop
+    private static final String[] TABLES = {
+            "bookmarked_posts", "blocked_users", "friends", "friend_requests", "post_groups",
+            "student_tags", "group_memberships", "id_allocators", "tags", "posts", "student_groups", "students"
+    };
+
+    // Initial rows, as inserted by createDB.sql
+    private static final String[] INITIAL_DATA = {
+            "INSERT INTO students (userID, userName, password, userYear) VALUES (1001, 'testuser1', '"
+                    + hashPassword("testuser1") + "', 'Senior')",
+            "INSERT INTO student_groups (groupID, groupName, groupDescription, groupSize) VALUES (1, 'tg1', 'td1', 0)",
+            "INSERT INTO student_groups (groupID, groupName, groupDescription, groupSize) VALUES (2, 'tg2', 'td2', 0)"
+    };
+
+    // Translated queries, so each shared query is rewritten only once
+    private final Map<String, String> translatedQueries = new ConcurrentHashMap<>();
+
+    public SQLiteHandler(String dbName) {
+        super(dbName);
+    }
+
+    @Override
+    protected String getBackendName() {
+        return "SQLite";
+    }
+
+    @Override
+    protected String getDriverClassName() {
+        return "org.sqlite.JDBC";
+    }
+
+    @Override
+    protected String getConnectionUrl() {
+        return "jdbc:sqlite:" + DatabaseConfig.DB_SQLITE_PATH;
+    }
+
+    // Pragmas are applied by the driver to every connection it opens
+    @Override
+    protected Properties getConnectionProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("journal_mode", "WAL");
+        properties.setProperty("synchronous", "NORMAL"); // Safe with WAL; commits skip the extra fsync
+        properties.setProperty("foreign_keys", "true");
+        properties.setProperty("busy_timeout", String.valueOf(DatabaseConfig.DB_SQLITE_BUSY_TIMEOUT_MS));
+        properties.setProperty("date_class", "TEXT");
+        properties.setProperty("date_string_format", DATE_FORMAT);
+        return properties;
+    }
+
+    // SQLite's CURRENT_TIMESTAMP is UTC; stored timestamps are local time
+    @Override
+    protected String dialectSql(String sql) {
+        return translatedQueries.computeIfAbsent(sql, query -> query.replace("CURRENT_TIMESTAMP", SQLITE_NOW));
+    }
+
+    // The SQLite driver reports SQLITE_CONSTRAINT (19, possibly extended) without a SQL state
+    @Override
+    protected boolean isDuplicateKey(SQLException e) {
+        return (e.getErrorCode() & 0xff) == SQLITE_CONSTRAINT || super.isDuplicateKey(e);
+    }
+
+    // SQLite already steps through a result one row at a time, and rejects a negative fetch size
+    @Override
+    protected boolean beginStreamingRead(Connection connection, PreparedStatement stmt) {
+        return false;
+    }
+
+    @Override
+    public synchronized void connect() {
+        boolean wasConnected = isConnected();
+        super.connect();
+        if (!wasConnected) {
+            try {
+                withConnection(conn -> {
+                    if (!tableExists(conn, "students")) {
+                        Log.info("Creating SQLite schema in " + DatabaseConfig.DB_SQLITE_PATH);
+                        createSchema(conn);
+                    } else {
+                        // Picks up tables added since the file was created
+                        runInTransaction(conn, SCHEMA);
+                    }
+                    return null;
+                });
+            } catch (SQLException e) {
+                logError("Failed to create SQLite schema: " + e.getMessage());
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    // resetDatabase drops and recreates the tables directly instead of parsing createDB.sql
+    @Override
+    protected void recreateSchema(PooledConnection conn) throws SQLException {
+        String[] drops = new String[TABLES.length];
+        for (int i = 0; i < TABLES.length; i++) {
+            drops[i] = "DROP TABLE IF EXISTS " + TABLES[i];
+        }
+        runInTransaction(conn, drops);
+        createSchema(conn);
+    }
+
+    private void createSchema(PooledConnection conn) throws SQLException {
+        String[] statements = new String[SCHEMA.length + INITIAL_DATA.length];
+        System.arraycopy(SCHEMA, 0, statements, 0, SCHEMA.length);
+        System.arraycopy(INITIAL_DATA, 0, statements, SCHEMA.length, INITIAL_DATA.length);
+        runInTransaction(conn, statements);
+    }
+
+    private static boolean tableExists(PooledConnection conn, String table) throws SQLException {
+        try (PreparedStatement stmt = conn.getConnection()
+                .prepareStatement("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static void runInTransaction(PooledConnection conn, String[] statements) throws SQLException {
+        Connection connection = conn.getConnection();
+        connection.setAutoCommit(false);
+        try {
+            for (String statement : statements) {
+                try (PreparedStatement stmt = connection.prepareStatement(statement)) {
+                    stmt.executeUpdate();
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+}
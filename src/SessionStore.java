@@ -0,0 +1,83 @@
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.function.Consumer;
+
+// Logged-in sessions, keyed by an opaque random token. Each holds the student as loaded at login,
+// so later requests resolve the user from the token instead of re-authenticating. DatabaseHandler
+// applies profile and group membership writes to open sessions; tags and friends are not loaded
+// at login and are always read from the database. Bounded, and a session expires a fixed time
+// after login.
+public class SessionStore {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ExpiringCache<String, Student> sessions;
+
+    public SessionStore(int capacity, long ttlMillis) {
+        this.sessions = new ExpiringCache<>(capacity, ttlMillis);
+    }
+
+    // Start a session for an authenticated student; returns its token
+    public String open(Student student) {
+        if (student == null) {
+            throw new IllegalArgumentException("Cannot open a session for a null student.");
+        }
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, student.copy());
+        return token;
+    }
+
+    // The session's student (a copy), or null if the token is unknown or expired
+    public Student resolve(String token) {
+        if (token == null) {
+            return null;
+        }
+        // Copied under the cache's lock, so a concurrent updateAllFor is never seen half-applied
+        synchronized (sessions) {
+            Student student = sessions.get(token);
+            return student != null ? student.copy() : null;
+        }
+    }
+
+    public void close(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    // End every session of a student, e.g. after a password change or account deletion
+    public void closeAllFor(int studentId) {
+        sessions.removeIf(student -> student.getID() == studentId);
+    }
+
+    // Apply a profile change to every open session of a student
+    public void updateAllFor(int studentId, Consumer<Student> change) {
+        sessions.forEachValue(student -> {
+            if (student.getID() == studentId) {
+                change.accept(student);
+            }
+        });
+    }
+
+    public boolean isOpenFor(int studentId) {
+        boolean[] open = new boolean[1];
+        sessions.forEachValue(student -> open[0] |= student.getID() == studentId);
+        return open[0];
+    }
+
+    public void closeAll() {
+        sessions.clear();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    @Override
+    public String toString() {
+        return sessions.toString();
+    }
+}
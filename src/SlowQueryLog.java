@@ -0,0 +1,294 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Log of statements that ran longer than DB_SLOW_QUERY_MS, with their bound parameters and the
+// public handler methods that issued them. Entries are queued and written by a background thread
+// to a file rotated at DB_SLOW_QUERY_LOG_MAX_BYTES, so a query thread never waits on disk; when
+// the queue is full the entry is dropped and counted instead.
+public class SlowQueryLog {
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int MAX_VALUE_LENGTH = 100;
+    private static final String REDACTED = "<redacted>";
+
+    // Column compared with a placeholder, e.g. "s.password = ?" or "name LIKE ?"
+    private static final Pattern COMPARED_COLUMN = Pattern
+            .compile("([A-Za-z_][\\w.]*)\\s*(?:=|<>|!=|<=|>=|<|>|\\s+LIKE)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INSERT_COLUMNS = Pattern
+            .compile("^\\s*INSERT\\s+INTO\\s+\\S+\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\(", Pattern.CASE_INSENSITIVE);
+
+    // Public methods of each handler class, as name + descriptor, to pick the caller's frames
+    private static final ClassValue<Set<String>> PUBLIC_METHODS = new ClassValue<>() {
+        @Override
+        protected Set<String> computeValue(Class<?> type) {
+            Set<String> methods = new HashSet<>();
+            for (Method method : type.getDeclaredMethods()) {
+                if (Modifier.isPublic(method.getModifiers()) && !method.isSynthetic()) {
+                    methods.add(method.getName() + MethodType
+                            .methodType(method.getReturnType(), method.getParameterTypes())
+                            .toMethodDescriptorString());
+                }
+            }
+            return methods;
+        }
+    };
+
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final class Holder {
+        static final SlowQueryLog INSTANCE = new SlowQueryLog(Paths.get(DatabaseConfig.DB_SLOW_QUERY_LOG),
+                DatabaseConfig.DB_SLOW_QUERY_MS, DatabaseConfig.DB_SLOW_QUERY_LOG_MAX_BYTES,
+                DatabaseConfig.DB_SLOW_QUERY_LOG_FILES);
+    }
+
+    private final Path file;
+    private final long thresholdNanos;
+    private final long maxBytes;
+    private final int maxFiles;
+    private final BlockingQueue<String> pending = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private Thread writerThread;
+
+    // A negative threshold turns the log off
+    SlowQueryLog(Path file, long thresholdMillis, long maxBytes, int maxFiles) {
+        this.file = file;
+        this.thresholdNanos = thresholdMillis < 0 ? Long.MAX_VALUE : thresholdMillis * 1_000_000L;
+        this.maxBytes = maxBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+    }
+
+    // The log configured in database.properties
+    public static SlowQueryLog get() {
+        return Holder.INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return thresholdNanos != Long.MAX_VALUE;
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    // Queue one entry; parameters are indexed from 1 like JDBC, and password and hash columns are redacted here
+    public void record(String backend, String sql, Map<Integer, Object> parameters, long nanos, boolean failed) {
+        StringBuilder entry = new StringBuilder();
+        entry.append(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS)).append(' ')
+                .append(String.format("%.1fms", nanos / 1_000_000.0)).append(' ')
+                .append(backend).append(' ')
+                .append(callingOperations())
+                .append(failed ? " FAILED" : "")
+                .append(" | ").append(sql.replaceAll("\\s+", " ").trim())
+                .append(" | params ").append(formatParameters(sql, parameters));
+        if (pending.offer(entry.toString())) {
+            startWriter();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public String toString() {
+        return thresholdNanos == Long.MAX_VALUE ? "off"
+                : "over " + thresholdNanos / 1_000_000 + "ms to " + file + "; " + getWrittenCount() + " written, "
+                        + getDroppedCount() + " dropped";
+    }
+
+    // The handler's public methods on the stack, outermost first, e.g.
+    // "DatabaseHandler.openSession > MySQLHandler.authenticateStudent"
+    static String callingOperations() {
+        List<String> operations = WALKER.walk(frames -> frames
+                .filter(frame -> Database.class.isAssignableFrom(frame.getDeclaringClass())
+                        && PUBLIC_METHODS.get(frame.getDeclaringClass())
+                                .contains(frame.getMethodName() + frame.getDescriptor()))
+                .map(frame -> frame.getDeclaringClass().getSimpleName() + "." + frame.getMethodName())
+                .collect(Collectors.toList()));
+        if (operations.isEmpty()) {
+            return "(unknown caller)";
+        }
+        List<String> outermostFirst = new ArrayList<>();
+        for (int i = operations.size() - 1; i >= 0; i--) {
+            outermostFirst.add(operations.get(i));
+        }
+        return String.join(" > ", outermostFirst);
+    }
+
+    static String formatParameters(String sql, Map<Integer, Object> parameters) {
+        boolean mentionsPassword = isSecretColumn(sql);
+        List<String> columns = mentionsPassword ? placeholderColumns(sql) : null;
+        StringBuilder formatted = new StringBuilder("[");
+        for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+            if (formatted.length() > 1) {
+                formatted.append(", ");
+            }
+            formatted.append(parameter.getKey()).append('=');
+            if (mentionsPassword && isPasswordParameter(columns, parameter.getKey())) {
+                formatted.append(REDACTED);
+            } else {
+                formatted.append(formatValue(parameter.getValue()));
+            }
+        }
+        return formatted.append(']').toString();
+    }
+
+    // A parameter whose column cannot be worked out is treated as a password, to be safe
+    private static boolean isPasswordParameter(List<String> columns, int index) {
+        String column = index <= columns.size() ? columns.get(index - 1) : null;
+        return column == null || isSecretColumn(column);
+    }
+
+    // Passwords, and the hashes stored in their place
+    private static boolean isSecretColumn(String text) {
+        String lower = text.toLowerCase();
+        return lower.contains("password") || lower.contains("hash");
+    }
+
+    // The column each placeholder is bound to, in order, or null where it cannot be told
+    static List<String> placeholderColumns(String sql) {
+        List<String> columns = new ArrayList<>();
+        Matcher insert = INSERT_COLUMNS.matcher(sql);
+        if (insert.find()) {
+            // INSERT ... (a, b) VALUES (?, ?): placeholders line up with the column list
+            String[] names = insert.group(1).split(",");
+            String[] values = sql.substring(insert.end()).split(",");
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].indexOf('?') >= 0) {
+                    columns.add(i < names.length && values[i].indexOf('?') == values[i].lastIndexOf('?')
+                            ? names[i].trim() : null);
+                }
+            }
+            return columns;
+        }
+        for (int i = sql.indexOf('?'); i >= 0; i = sql.indexOf('?', i + 1)) {
+            Matcher compared = COMPARED_COLUMN.matcher(sql.substring(0, i));
+            columns.add(compared.find() ? compared.group(1) : null);
+        }
+        return columns;
+    }
+
+    private static String formatValue(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof byte[]) {
+            return "<" + ((byte[]) value).length + " bytes>";
+        }
+        String text = value.toString();
+        if (text.length() > MAX_VALUE_LENGTH) {
+            text = text.substring(0, MAX_VALUE_LENGTH) + "...";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+
+    private synchronized void startWriter() {
+        if (writerThread == null) {
+            writerThread = new Thread(this::writeLoop, "slow-query-log");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+    }
+
+    private void writeLoop() {
+        BufferedWriter writer = null;
+        while (true) {
+            try {
+                String entry = pending.poll(1, TimeUnit.SECONDS);
+                if (entry == null) {
+                    continue;
+                }
+                if (writer == null) {
+                    writer = open();
+                }
+                // Write everything queued, then flush once
+                do {
+                    writer.write(entry);
+                    writer.newLine();
+                    written.increment();
+                } while ((entry = pending.poll()) != null);
+                writer.flush();
+                if (Files.size(file) >= maxBytes) {
+                    writer.close();
+                    writer = null;
+                    rotate();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                Log.error("[Database Error] Failed to write slow query log " + file + ": " + e.getMessage());
+                closeQuietly(writer);
+                writer = null;
+            }
+        }
+    }
+
+    private static void closeQuietly(BufferedWriter writer) {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // Already failing; the next entry reopens the file
+            }
+        }
+    }
+
+    private BufferedWriter open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    // slow-queries.log becomes slow-queries.log.1, .1 becomes .2, and the oldest is deleted
+    private void rotate() throws IOException {
+        Files.deleteIfExists(rotated(maxFiles - 1));
+        for (int i = maxFiles - 2; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 1) {
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+    }
+
+    private Path rotated(int generation) {
+        return file.resolveSibling(file.getFileName() + "." + generation);
+    }
+}
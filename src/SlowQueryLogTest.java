@@ -0,0 +1,64 @@
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SlowQueryLogTest {
+
+    private static Map<Integer, Object> parameters(Object... values) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        for (int i = 0; i < values.length; i++) {
+            parameters.put(i + 1, values[i]);
+        }
+        return parameters;
+    }
+
+    // passes when values bound to password and hash columns never reach the log
+    @Test
+    public void redactsPasswordsAndHashes() {
+        assertEquals("[1='bob@ilstu.edu', 2=<redacted>]", SlowQueryLog.formatParameters(
+                "SELECT * FROM students WHERE userName = ? AND password = ?", parameters("bob@ilstu.edu", "abc123")));
+        assertEquals("[1='bob@ilstu.edu', 2=<redacted>, 3='Senior']", SlowQueryLog.formatParameters(
+                "INSERT INTO students (userName, password, userYear) VALUES (?, ?, ?)",
+                parameters("bob@ilstu.edu", "abc123", "Senior")));
+        assertEquals("[1=<redacted>, 2=1002]", SlowQueryLog.formatParameters(
+                "UPDATE students SET password = ? WHERE userID = ?", parameters("abc123", 1002)));
+        assertEquals("[1=1002, 2=<redacted>]", SlowQueryLog.formatParameters(
+                "UPDATE tokens SET userID = ? WHERE s.tokenHash LIKE ?", parameters(1002, "ff00")));
+        // Where the column cannot be told, any statement touching a password is redacted
+        assertEquals("[1=<redacted>]", SlowQueryLog.formatParameters(
+                "SELECT * FROM students WHERE COALESCE(password, ?) IS NOT NULL", parameters("abc123")));
+        assertEquals("[1='IT', 2=NULL]", SlowQueryLog.formatParameters(
+                "INSERT INTO tags (name, description) VALUES (?, ?)", parameters("IT", null)));
+    }
+
+    // passes when binds are recorded from the real statement, with the preparer run only once
+    @Test
+    public void recordsBindsOnTheRealStatement() throws SQLException {
+        List<String> calls = new ArrayList<>();
+        PreparedStatement real = (PreparedStatement) Proxy.newProxyInstance(
+                SlowQueryLogTest.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                (proxy, method, args) -> {
+                    calls.add(method.getName());
+                    return method.getName().equals("executeUpdate") ? 1 : null;
+                });
+        Map<Integer, Object> parameters = new TreeMap<>();
+        PreparedStatement stmt = MySQLHandler.recordingBinds(real, parameters);
+        stmt.setString(1, "bob@ilstu.edu");
+        stmt.setNull(2, Types.VARCHAR);
+        stmt.setInt(3, 1002);
+        assertEquals(1, stmt.executeUpdate());
+
+        assertEquals(List.of("setString", "setNull", "setInt", "executeUpdate"), calls);
+        assertEquals(parameters("bob@ilstu.edu", null, 1002), parameters);
+        assertSame(real, MySQLHandler.recordingBinds(real, null));
+    }
+}
@@ -0,0 +1,89 @@
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// LRU cache of prepared statements for a single pooled connection, keyed by SQL text.
+// A connection is only used by one thread at a time, so no locking is needed here.
+public class StatementCache {
+
+    private final int capacity;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    public StatementCache(int capacity, LongAdder hits, LongAdder misses) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Statement cache capacity cannot be negative.");
+        }
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.capacity) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Take the cached statement for this SQL, or null on a miss. A statement that is
+    // checked out is not in the cache, so a nested use of the same SQL prepares its own.
+    public PreparedStatement checkOut(String sql) {
+        PreparedStatement stmt = statements.remove(sql);
+        if (stmt != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return stmt;
+    }
+
+    // Return a statement after use so the next caller can skip the prepare round trip
+    public void checkIn(String sql, PreparedStatement stmt) {
+        if (stmt == null) {
+            return;
+        }
+        try {
+            if (capacity == 0 || stmt.isClosed()) {
+                closeQuietly(stmt);
+                return;
+            }
+            stmt.clearParameters();
+        } catch (SQLException e) {
+            closeQuietly(stmt);
+            return;
+        }
+        PreparedStatement displaced = statements.put(sql, stmt);
+        if (displaced != null && displaced != stmt) {
+            closeQuietly(displaced);
+        }
+    }
+
+    public void clear() {
+        List<PreparedStatement> cached = new ArrayList<>(statements.values());
+        statements.clear();
+        for (PreparedStatement stmt : cached) {
+            closeQuietly(stmt);
+        }
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            Log.error("[Database Error] Failed to close cached statement: " + e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,9 @@
 import java.util.List;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 public class Student {
 
@@ -11,10 +15,11 @@ public class Student {
     private List<Tag> userTags;
     private List<Group> userGroups;
     private List<Post> userPosts;
-    private List<Student> friends;
-    private List<Student> blockedUsers;
-    private List<Student> friendRequests;
-    private List<Post> bookmarkedPosts;
+    // Relationships keep insertion order; students match by ID (see equals), posts by post ID
+    private Set<Student> friends;
+    private Set<Student> blockedUsers;
+    private Set<Student> friendRequests;
+    private Map<Integer, Post> bookmarkedPosts;
     private boolean isAnonymous;
     private String username;
 
@@ -29,10 +34,10 @@ public class Student {
         this.userTags = userTags != null ? userTags : new ArrayList<>();
         this.userGroups = userGroups != null ? userGroups : new ArrayList<>();
         this.userPosts = userPosts != null ? userPosts : new ArrayList<>();
-        this.friends = new ArrayList<>();
-        this.blockedUsers = new ArrayList<>();
-        this.friendRequests = new ArrayList<>();
-        this.bookmarkedPosts = new ArrayList<>();
+        this.friends = new LinkedHashSet<>();
+        this.blockedUsers = new LinkedHashSet<>();
+        this.friendRequests = new LinkedHashSet<>();
+        this.bookmarkedPosts = new LinkedHashMap<>();
         this.isAnonymous = false;
     }
 
@@ -146,14 +151,11 @@ public class Student {
     }
 
     public void receiveFriendRequest(Student from) {
-        if (!friendRequests.contains(from)) {
-            friendRequests.add(from);
-        }
+        friendRequests.add(from);
     }
 
     public void acceptFriendRequest(Student from) {
-        if (friendRequests.contains(from)) {
-            friendRequests.remove(from);
+        if (friendRequests.remove(from)) {
             friends.add(from);
             from.friends.add(this);
         }
@@ -169,17 +171,43 @@ public class Student {
     }
 
     public void blockUser(Student user) {
-        if (!blockedUsers.contains(user)) {
-            blockedUsers.add(user);
+        if (blockedUsers.add(user)) {
             friends.remove(user);
             user.friends.remove(this);
         }
     }
 
     public void bookmarkPost(Post post) {
-        if (!bookmarkedPosts.contains(post)) {
-            bookmarkedPosts.add(post);
-        }
+        bookmarkedPosts.putIfAbsent(post.getID(), post);
+    }
+
+    public boolean isFriendsWith(Student other) {
+        return friends.contains(other);
+    }
+
+    public boolean hasBlocked(Student other) {
+        return blockedUsers.contains(other);
+    }
+
+    public boolean hasFriendRequestFrom(Student other) {
+        return friendRequests.contains(other);
+    }
+
+    public boolean hasBookmarked(Post post) {
+        return bookmarkedPosts.containsKey(post.getID());
+    }
+
+    // Copy of the profile fields, with its own lists, so changes to one never reach the other
+    public Student copy() {
+        Student copy = new Student(userID, userEmail, userName, userYear, new ArrayList<>(userTags),
+                new ArrayList<>(userGroups), new ArrayList<>(userPosts));
+        copy.friends.addAll(friends);
+        copy.blockedUsers.addAll(blockedUsers);
+        copy.friendRequests.addAll(friendRequests);
+        copy.bookmarkedPosts.putAll(bookmarkedPosts);
+        copy.isAnonymous = isAnonymous;
+        copy.username = username;
+        return copy;
     }
 
     public boolean isAnonymous() {
@@ -189,4 +217,22 @@ public class Student {
     public void setAnonymous(boolean isAnonymous) {
         this.isAnonymous = isAnonymous;
     }
+
+    // Students are equal if their IDs are the same, like groups and tags. A student not saved yet
+    // (ID 0) is only equal to itself. Do not change the ID of a student that is already held in
+    // another student's relationships.
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null || getClass() != obj.getClass())
+            return false;
+        Student other = (Student) obj;
+        return userID != 0 && userID == other.userID;
+    }
+
+    @Override
+    public int hashCode() {
+        return userID != 0 ? userID : System.identityHashCode(this);
+    }
 }
@@ -0,0 +1,86 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+// Read-through cache of student lookups for one backend, shared by every DatabaseHandler on it.
+// Callers get their own copy of a cached student, so changing it never changes the cache.
+public class StudentCache {
+
+    private final ExpiringCache<Integer, Student> byId;
+    // Keyed by lowercased username, since usernames are matched case-insensitively
+    private final ExpiringCache<String, Student> byUsername;
+
+    public StudentCache(int capacity, long ttlMillis) {
+        this.byId = new ExpiringCache<>(capacity, ttlMillis);
+        this.byUsername = new ExpiringCache<>(capacity, ttlMillis);
+    }
+
+    public Student getById(int studentId, Function<Integer, Student> loader) {
+        return copyOf(byId.get(studentId, loader));
+    }
+
+    // The students with these IDs in the same order, loading every miss with one call to loader;
+    // IDs with no student are skipped
+    public List<Student> getAllById(int[] studentIds, Function<int[], List<Student>> loader) {
+        List<Integer> keys = new ArrayList<>(studentIds.length);
+        for (int studentId : studentIds) {
+            keys.add(studentId);
+        }
+        Map<Integer, Student> found = byId.getAll(keys, missing -> {
+            List<Student> loaded = loader.apply(missing.stream().mapToInt(Integer::intValue).toArray());
+            if (loaded == null) {
+                return null;
+            }
+            Map<Integer, Student> byStudentId = new HashMap<>();
+            for (Student student : loaded) {
+                byStudentId.put(student.getID(), student);
+            }
+            return byStudentId;
+        });
+        List<Student> students = new ArrayList<>(found.size());
+        for (int studentId : studentIds) {
+            Student student = found.get(studentId);
+            if (student != null) {
+                students.add(copyOf(student));
+            }
+        }
+        return students;
+    }
+
+    // Email lookups share these entries; the email is the username
+    public Student getByUsername(String username, Function<String, Student> loader) {
+        if (username == null) {
+            return loader.apply(null);
+        }
+        return copyOf(byUsername.get(username.toLowerCase(Locale.ROOT), key -> loader.apply(username)));
+    }
+
+    // Drop every cached copy of a student after a write to their row or tags
+    public void invalidate(int studentId) {
+        byId.remove(studentId);
+        byUsername.removeIf(student -> student.getID() == studentId);
+    }
+
+    public void clear() {
+        byId.clear();
+        byUsername.clear();
+    }
+
+    public double getHitRatio() {
+        long hits = byId.getHits() + byUsername.getHits();
+        long lookups = hits + byId.getMisses() + byUsername.getMisses();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "by ID: " + byId + "; by username: " + byUsername;
+    }
+
+    private static Student copyOf(Student student) {
+        return student != null ? student.copy() : null;
+    }
+}
@@ -1,6 +1,7 @@
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
+import java.util.Collections;
 
 public class StudentController {
 
@@ -92,34 +93,26 @@ public class StudentController {
     }
 
     public boolean createGroup(Group group) {
-        System.out.println("\n====== StudentController createGroup Debug ======");
-        System.out.println("Validating input group:");
         if (group == null) {
-            System.out.println("Error: Group is null");
+            Log.warn("Cannot create group: group is null");
             return false;
         }
 
-        System.out.println("Group details:");
-        System.out.println("- ID: " + group.getID());
-        System.out.println("- Name: " + group.getName());
-        System.out.println("- Description: " + group.getDescription());
-        System.out.println("- Creation Date: " + group.getCreationDate());
+        Log.debug(() -> "Creating group: id=" + group.getID() + ", name=" + group.getName()
+                + ", description=" + group.getDescription() + ", created=" + group.getCreationDate());
 
-        System.out.println("\nForwarding to groupHandler.addGroup()...");
+        Log.debug(() -> "Forwarding to groupHandler.addGroup()...");
         boolean result = groupHandler.addGroup(group);
-        System.out.println("GroupHandler result: " + (result ? "success" : "failure"));
+        Log.debug(() -> "GroupHandler result: " + (result ? "success" : "failure"));
         return result;
     }
 
     public Group getGroupByName(String name) {
-        return groupHandler.getAllGroups().stream()
-                .filter(group -> group.getName().equals(name))
-                .findFirst()
-                .orElse(null);
+        return groupHandler.findGroupByName(name);
     }
 
     public boolean joinGroup(Group group) {
-        System.out.println("DEBUG: joinGroup called for group: " +
+        Log.debug(() -> "joinGroup called for group: " +
                 (group != null ? group.getName() : "null"));
 
         if (group == null) {
@@ -139,11 +132,11 @@ public class StudentController {
             return false;
         }
 
-        System.out.println("DEBUG: Attempting to join group: " + group.getName());
-        System.out.println("DEBUG: Current student: " + currentStudent.getName());
+        Log.debug(() -> "Attempting to join group: " + group.getName());
+        Log.debug(() -> "Current student: " + currentStudent.getName());
 
         boolean success = groupHandler.addMemberToGroup(group.getID(), currentStudent);
-        System.out.println("DEBUG: Join group result: " + success);
+        Log.debug(() -> "Join group result: " + success);
         return success;
     }
 
@@ -166,7 +159,7 @@ public class StudentController {
     public List<Student> getGroupMembers(Group group) {
         if (group == null) {
             System.err.println("Cannot get members for null group");
-            return new ArrayList<>();
+            return Collections.emptyList();
         }
         return group.getMembers();
     }
@@ -7,6 +7,7 @@ public class StudentHandler {
     private List<Student> students;
 
     private Student currentStudent;
+    private String sessionToken; // Session of the logged-in student, if any
 
     private static StudentHandler instance; // Add singleton pattern
     private DatabaseHandler dbHandler;
@@ -22,7 +23,7 @@ public class StudentHandler {
     // Constructor
     private StudentHandler() {
         this.students = new ArrayList<>();
-        Database database = DatabaseFactory.getDatabase(DatabaseFactory.DatabaseType.MYSQL, "StudentDB");
+        Database database = DatabaseFactory.getDatabase("StudentDB");
         this.dbHandler = new DatabaseHandler(database);
         this.tagHandler = new TagHandler(dbHandler);
     }
@@ -182,21 +183,16 @@ public class StudentHandler {
     }
 
     public Student getCurrentStudent() {
-        System.out.println("DEBUG: getCurrentStudent called. Current student: " +
-                (currentStudent != null ? currentStudent.getName() + "(ID:" + currentStudent.getID() + ")" : "null"));
         return currentStudent;
     }
 
     public void setCurrentStudent(Student student) {
-        System.out.println("DEBUG: setCurrentStudent called with student: " +
-                (student != null ? student.getName() + "(ID:" + student.getID() + ")" : "null"));
+        Log.debug(() -> "Current student set to: "
+                + (student != null ? student.getName() + " (ID " + student.getID() + ")" : "null"));
         this.currentStudent = student;
         if (student != null && !students.contains(student)) {
             students.add(student);
-            System.out.println("DEBUG: Added student to list: " + student.getName());
         }
-        System.out.println("DEBUG: Current student set to: " +
-                (student != null ? student.getName() : "null"));
     }
 
     public Student getStudentByName(String name) {
@@ -217,10 +213,6 @@ public class StudentHandler {
         }
 
         try {
-            // Get database instance
-            Database database = DatabaseFactory.getDatabase(DatabaseFactory.DatabaseType.MYSQL, "StudentDB");
-            DatabaseHandler dbHandler = new DatabaseHandler(database);
-
             // Look up student in database
             Student student = dbHandler.getStudentByUsername(username);
 
@@ -236,17 +228,16 @@ public class StudentHandler {
         }
     }
 
+    // Authenticates against the database once and opens a session for the student
     public Student authenticateStudent(String email, String password) {
         try {
-            // Get database instance through DatabaseHandler
-            Database database = DatabaseFactory.getDatabase(DatabaseFactory.DatabaseType.MYSQL, "StudentDB");
-            DatabaseHandler dbHandler = new DatabaseHandler(database);
-
-            // Attempt authentication through database
-            Student authenticatedStudent = dbHandler.authenticateStudent(email, password);
+            String token = dbHandler.openSession(email, password);
+            Student authenticatedStudent = dbHandler.getSessionStudent(token);
 
             if (authenticatedStudent != null) {
                 // Update local cache if authentication successful
+                dbHandler.closeSession(sessionToken);
+                sessionToken = token;
                 setCurrentStudent(authenticatedStudent);
             }
 
@@ -256,4 +247,10 @@ public class StudentHandler {
             return null;
         }
     }
+
+    public void logout() {
+        dbHandler.closeSession(sessionToken);
+        sessionToken = null;
+        currentStudent = null;
+    }
 }
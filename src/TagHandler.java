@@ -1,25 +1,78 @@
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class TagHandler {
 
-    // List to store tags (can be replaced with database integration)
-    private List<Tag> tags;
+    // Immutable snapshot of the tag catalog, indexed by ID and by case-folded name. Writers
+    // publish a new snapshot, so readers look tags up without locking.
+    private static final class Catalog {
+        final List<Tag> tags;
+        final IntHashMap<Tag> byId;
+        final Map<String, Tag> byName;
+
+        Catalog(List<Tag> tags) {
+            this.tags = Collections.unmodifiableList(new ArrayList<>(tags));
+            this.byId = new IntHashMap<>(tags.size());
+            this.byName = new HashMap<>(tags.size() * 2);
+            for (Tag tag : tags) {
+                byId.put(tag.getID(), tag);
+                if (tag.getName() != null) {
+                    byName.putIfAbsent(foldName(tag.getName()), tag);
+                }
+            }
+        }
+    }
+
+    private volatile Catalog catalog = new Catalog(Collections.emptyList());
     private DatabaseHandler dbHandler;
 
     // Constructor
     public TagHandler(DatabaseHandler dbHandler) {
         this.dbHandler = dbHandler;
-        this.tags = new ArrayList<>();
         loadTagsFromDatabase();
     }
 
     private void loadTagsFromDatabase() {
         List<Tag> dbTags = dbHandler.getAllTags();
         if (dbTags != null) {
-            tags.clear();
-            tags.addAll(dbTags);
+            catalog = new Catalog(dbTags);
+        }
+    }
+
+    // Writers are serialized so one change never overwrites another's snapshot
+    private synchronized void addToCatalog(Tag tag) {
+        List<Tag> tags = new ArrayList<>(catalog.tags);
+        tags.add(tag);
+        catalog = new Catalog(tags);
+    }
+
+    private synchronized boolean removeFromCatalog(Tag tag) {
+        List<Tag> tags = new ArrayList<>(catalog.tags);
+        boolean removed = tags.remove(tag);
+        if (removed) {
+            catalog = new Catalog(tags);
+        }
+        return removed;
+    }
+
+    // Tags already handed out are never changed; a renamed tag replaces the entry with its ID
+    private synchronized void replaceInCatalog(Tag replacement) {
+        List<Tag> tags = new ArrayList<>(catalog.tags);
+        int index = tags.indexOf(replacement);
+        if (index >= 0) {
+            tags.set(index, replacement);
+        } else {
+            tags.add(replacement);
         }
+        catalog = new Catalog(tags);
+    }
+
+    private static String foldName(String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 
     // Add a new tag
@@ -35,8 +88,8 @@ public class TagHandler {
 
         // First add to database
         if (dbHandler.addTag(tag)) {
-            // If successful in database, add to in-memory list
-            tags.add(tag);
+            // If successful in database, add to in-memory catalog
+            addToCatalog(tag);
             System.out.println("Tag added: " + tag.getName());
             return true;
         }
@@ -57,9 +110,8 @@ public class TagHandler {
 
         // First update in database
         if (dbHandler.updateTag(tag)) {
-            // If successful in database, update in-memory
-            existingTag.setName(tag.getName());
-            existingTag.setDescription(tag.getDescription());
+            // If successful in database, publish an updated copy in-memory
+            replaceInCatalog(new Tag(tag.getID(), tag.getName(), tag.getDescription()));
             System.out.println("Tag updated: " + tag.getName());
             return true;
         }
@@ -75,8 +127,8 @@ public class TagHandler {
 
         // First remove from database
         if (dbHandler.removeTag(tag)) {
-            // If successful in database, remove from in-memory list
-            boolean removed = tags.remove(tag);
+            // If successful in database, remove from in-memory catalog
+            boolean removed = removeFromCatalog(tag);
             if (removed) {
                 System.out.println("Tag removed: " + tag.getName());
             }
@@ -87,27 +139,17 @@ public class TagHandler {
 
     // Retrieve a tag by ID
     public Tag getTagById(int tagId) {
-        for (Tag tag : tags) {
-            if (tag.getID() == tagId) {
-                return tag;
-            }
-        }
-        return null;
+        return catalog.byId.get(tagId);
     }
 
-    // Retrieve a tag by name
+    // Retrieve a tag by name, ignoring case
     public Tag getTagByName(String name) {
-        for (Tag tag : tags) {
-            if (tag.getName().equalsIgnoreCase(name)) {
-                return tag;
-            }
-        }
-        return null;
+        return name != null ? catalog.byName.get(foldName(name)) : null;
     }
 
     // Retrieve all tags
     public List<Tag> getAllTags() {
-        return new ArrayList<>(tags);
+        return new ArrayList<>(catalog.tags);
     }
 
     // Retrieve tags for a student
@@ -116,8 +158,9 @@ public class TagHandler {
         if (student != null && dbHandler != null) {
             // Get student's tags from database
             List<Integer> studentTagIds = dbHandler.getStudentTagIds(student.getID());
+            IntHashMap<Tag> byId = catalog.byId;
             for (Integer tagId : studentTagIds) {
-                Tag tag = getTagById(tagId);
+                Tag tag = byId.get(tagId);
                 if (tag != null) {
                     studentTags.add(tag);
                 }
@@ -128,6 +171,7 @@ public class TagHandler {
 
     // Print all tags
     public void printAllTags() {
+        List<Tag> tags = catalog.tags;
         if (tags.isEmpty()) {
             System.out.println("No tags found.");
         } else {
@@ -1,7 +1,9 @@
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /*
  * David Notes
@@ -110,6 +112,11 @@ import java.util.stream.Collectors;
 
 public class TerminalUI {
 
+    // Posts shown per page when browsing a group
+    private static final int POSTS_PAGE_SIZE = 10;
+    // Students listed under People You May Know
+    private static final int FRIEND_SUGGESTION_LIMIT = 10;
+
     private final Scanner scanner;
     private final StudentHandler studentHandler;
     private final GroupHandler groupHandler;
@@ -123,9 +130,7 @@ public class TerminalUI {
     private Group currentGroup;
 
     public TerminalUI() {
-        Database database = DatabaseFactory.getDatabase(
-                DatabaseFactory.DatabaseType.MYSQL,
-                "StudentDB");
+        Database database = DatabaseFactory.getDatabase("StudentDB");
         this.dbHandler = new DatabaseHandler(database);
 
         // Establish database connection immediately
@@ -474,7 +479,7 @@ public class TerminalUI {
 
         if (currentUser.getGroups().contains(groupToLeave)) {
             // Update both database and in-memory state
-            if (dbHandler.leaveGroup(groupToLeave, currentUser)) {
+            if (groupHandler.leaveGroup(groupToLeave, currentUser)) {
                 currentUser.leaveGroup(groupToLeave);
                 System.out.println(
                         "Successfully left group: " + groupToLeave.getName());
@@ -500,7 +505,7 @@ public class TerminalUI {
                     System.out.println(
                             "Description: " + group.getDescription());
                     System.out.println(
-                            "Members: " + group.getActiveMembers().size());
+                            "Members: " + group.getActiveMemberCount());
                     System.out.println("------------------------");
                 }
             }
@@ -673,6 +678,7 @@ public class TerminalUI {
     // Add other necessary methods...
 
     private void logout() {
+        studentHandler.logout();
         currentUser = null;
         System.out.println("Logged out successfully!");
     }
@@ -705,21 +711,28 @@ public class TerminalUI {
         }
     }
 
+    // Posts are fetched one page at a time, newest first
     private void viewAllPosts() {
         if (currentGroup == null) {
             System.out.println("No group selected.");
             return;
         }
 
-        System.out.println("\nAll Posts in " + currentGroup.getName());
-        System.out.println("------------------------");
+        PostPage page = dbHandler.getGroupPostsPage(currentGroup.getID(), null, POSTS_PAGE_SIZE,
+                PostPage.Direction.OLDER);
+        int pageNumber = 1;
+        while (true) {
+            System.out.println("\nAll Posts in " + currentGroup.getName() + " (page " + pageNumber + ")");
+            System.out.println("------------------------");
 
-        List<Post> posts = dbHandler.getGroupPosts(currentGroup.getID());
+            if (page == null || page.isEmpty()) {
+                System.out.println("No posts in this group yet.");
+                System.out.println("\nPress Enter to continue...");
+                scanner.nextLine();
+                return;
+            }
 
-        if (posts == null || posts.isEmpty()) {
-            System.out.println("No posts in this group yet.");
-        } else {
-            for (Post post : posts) {
+            for (Post post : page.getPosts()) {
                 Student owner = post.getOwner();
                 String authorName;
                 if (owner == null) {
@@ -732,10 +745,32 @@ public class TerminalUI {
                 System.out.println("\nPost by " + authorName + ":");
                 System.out.println(post.getContent());
             }
-        }
 
-        System.out.println("\nPress Enter to continue...");
-        scanner.nextLine();
+            System.out.println("\nOptions:");
+            System.out.println("1. Older posts" + (page.hasOlder() ? "" : " (none)"));
+            System.out.println("2. Newer posts" + (page.hasNewer() ? "" : " (none)"));
+            System.out.println("3. Back");
+
+            int choice = getIntInput(1, 3);
+            if (choice == 3) {
+                return;
+            }
+            boolean older = choice == 1;
+            if (older ? !page.hasOlder() : !page.hasNewer()) {
+                System.out.println(older ? "No older posts." : "No newer posts.");
+                continue;
+            }
+
+            PostPage next = dbHandler.getGroupPostsPage(currentGroup.getID(),
+                    older ? page.getOlderCursor() : page.getNewerCursor(), POSTS_PAGE_SIZE,
+                    older ? PostPage.Direction.OLDER : PostPage.Direction.NEWER);
+            if (next == null || next.isEmpty()) {
+                System.out.println(older ? "No older posts." : "No newer posts.");
+                continue;
+            }
+            page = next;
+            pageNumber += older ? 1 : -1;
+        }
     }
 
     private void createPost() {
@@ -925,16 +960,18 @@ public class TerminalUI {
             System.out.println("3. View Pending Requests");
             System.out.println("4. Blocked Users");
             System.out.println("5. Remove Friend");
-            System.out.println("6. Back");
+            System.out.println("6. People You May Know");
+            System.out.println("7. Back");
 
-            int choice = getIntInput(1, 6);
+            int choice = getIntInput(1, 7);
             switch (choice) {
                 case 1 -> getFriends();
                 case 2 -> sendFriendRequest();
                 case 3 -> viewPendingRequests();
                 case 4 -> showBlockedUsersMenu();
                 case 5 -> removeFriend();
-                case 6 -> inFriendsMenu = false;
+                case 6 -> viewFriendSuggestions();
+                case 7 -> inFriendsMenu = false;
             }
         }
     }
@@ -949,10 +986,12 @@ public class TerminalUI {
             System.out.println("User not found.");
             return;
         }
+        sendFriendRequestTo(targetUser);
+    }
 
+    private void sendFriendRequestTo(Student targetUser) {
         // Check if already friends
-        List<Student> friends = dbHandler.getFriends(currentUser.getID());
-        if (friends.stream().anyMatch(f -> f.getID() == targetUser.getID())) {
+        if (dbHandler.areFriends(currentUser.getID(), targetUser.getID())) {
             System.out.println("You are already friends with this user.");
             return;
         }
@@ -977,6 +1016,29 @@ public class TerminalUI {
         }
     }
 
+    private void viewFriendSuggestions() {
+        List<FriendSuggestions.Suggestion> suggestions = dbHandler.suggestFriends(currentUser.getID(),
+                FRIEND_SUGGESTION_LIMIT);
+        List<Student> students = new ArrayList<>();
+        for (FriendSuggestions.Suggestion suggestion : suggestions) {
+            Student student = dbHandler.getStudentById(suggestion.getStudentId());
+            if (student != null) {
+                System.out.println((students.size() + 1) + ". " + student.getName() + " (" + suggestion.describe() + ")");
+                students.add(student);
+            }
+        }
+        if (students.isEmpty()) {
+            System.out.println("No suggestions yet. Join groups, add tags or make friends to get some.");
+            return;
+        }
+
+        System.out.print("Enter a number to send a friend request (0 to go back): ");
+        int choice = getIntInput(0, students.size());
+        if (choice > 0) {
+            sendFriendRequestTo(students.get(choice - 1));
+        }
+    }
+
     private void viewPendingRequests() {
         List<Student> requests = dbHandler.getIncomingFriendRequests(currentUser.getID());
         if (requests.isEmpty()) {
@@ -1095,8 +1157,7 @@ public class TerminalUI {
             return;
         }
 
-        List<Student> friends = dbHandler.getFriends(currentUser.getID());
-        if (friends.stream().noneMatch(f -> f.getID() == targetUser.getID())) {
+        if (!dbHandler.areFriends(currentUser.getID(), targetUser.getID())) {
             System.out.println("This user is not in your friends list.");
             return;
         }
@@ -1118,16 +1179,18 @@ public class TerminalUI {
             System.out.println("3. View Database Connection Status");
             System.out.println("4. Test Database Queries");
             System.out.println("5. Reset/Create Database");
-            System.out.println("6. Return to Main Menu");
+            System.out.println("6. View Query Statistics");
+            System.out.println("7. Return to Main Menu");
 
-            int choice = getIntInput(1, 6);
+            int choice = getIntInput(1, 7);
             switch (choice) {
                 case 1 -> debugViewAllStudents();
                 case 2 -> debugViewAllGroups();
                 case 3 -> debugCheckConnection();
                 case 4 -> debugTestQueries();
                 case 5 -> debugResetDatabase();
-                case 6 -> inDebugMenu = false;
+                case 6 -> debugViewQueryStats();
+                case 7 -> inDebugMenu = false;
             }
         }
     }
@@ -1135,17 +1198,18 @@ public class TerminalUI {
     private void debugViewAllStudents() {
         System.out.println("\nAll Students in Database:");
         System.out.println("------------------------");
-        try {
-            List<Student> allStudents = dbHandler.getAllStudents();
-            if (allStudents == null || allStudents.isEmpty()) {
+        // Streamed so the listing never holds the whole table in memory
+        try (Stream<Student> allStudents = dbHandler.streamAllStudents()) {
+            Iterator<Student> students = allStudents.iterator();
+            if (!students.hasNext()) {
                 System.out.println("No students found in database.");
-            } else {
-                for (Student student : allStudents) {
-                    System.out.println("ID: " + student.getID());
-                    System.out.println("Username/Email: " + student.getEmail());
-                    System.out.println("Year: " + student.getYear());
-                    System.out.println("------------------------");
-                }
+            }
+            while (students.hasNext()) {
+                Student student = students.next();
+                System.out.println("ID: " + student.getID());
+                System.out.println("Username/Email: " + student.getEmail());
+                System.out.println("Year: " + student.getYear());
+                System.out.println("------------------------");
             }
         } catch (Exception e) {
             System.out.println("Error retrieving students: " + e.getMessage());
@@ -1172,6 +1236,26 @@ public class TerminalUI {
         System.out.println("\nDatabase Connection Status:");
         System.out.println("------------------------");
         System.out.println("Connected: " + dbHandler.getDatabase().isConnected());
+        if (dbHandler.getDatabase() instanceof MySQLHandler) {
+            ConnectionPool pool = ((MySQLHandler) dbHandler.getDatabase()).getConnectionPool();
+            if (pool != null) {
+                System.out.println("Pooled connections: " + pool.getActiveCount() + " active, "
+                        + pool.getIdleCount() + " idle (max " + pool.getMaxSize() + ")");
+                System.out.println("Statement cache: " + pool.getStatementCacheHits() + " hits, "
+                        + pool.getStatementCacheMisses() + " misses");
+            }
+        }
+        System.out.println("Student cache: " + dbHandler.getStudentCache());
+        System.out.println("Username filter: " + dbHandler.getUsernameFilter());
+        System.out.println("\nPress Enter to continue...");
+        scanner.nextLine();
+    }
+
+    private void debugViewQueryStats() {
+        System.out.println("\nSlowest Statements (by total time):");
+        System.out.println("------------------------");
+        System.out.println(dbHandler.getQueryStats().report(10));
+        System.out.println("Slow query log: " + SlowQueryLog.get());
         System.out.println("\nPress Enter to continue...");
         scanner.nextLine();
     }
@@ -1223,6 +1307,7 @@ public class TerminalUI {
             if (dbHandler.authenticateStudent(currentUser.getName(), password) != null) {
                 if (studentController.removeStudent(currentUser.getID())) {
                     System.out.println("Account deleted successfully.");
+                    studentHandler.logout();
                     currentUser = null; // Clear current user
                     return true;
                 } else {
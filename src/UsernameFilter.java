@@ -0,0 +1,173 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Bloom filter of the usernames stored in one backend, so a lookup for a name that was never
+// registered is answered without a query. Only "definitely absent" is answered locally; a
+// possible match still goes to the database. The filter is built on first use from a streaming
+// scan of the students table and kept current by the writes made through DatabaseHandler, so it
+// is only safe while this process is the only one adding students, so it is off unless
+// DB_USERNAME_FILTER turns it on.
+public class UsernameFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final Supplier<Stream<String>> usernameScan;
+    private final boolean enabled;
+
+    private final Object buildLock = new Object();
+    private BloomFilter filter; // null until built, and again after invalidate
+    private long capacity;
+    private long insertions;
+    private long removals;
+    private long generation; // Bumped by invalidate, so a build that raced with it is discarded
+    private List<String> addedDuringBuild; // Names added while a build is scanning the table
+
+    private final LongAdder answeredLocally = new LongAdder();
+    private final LongAdder forwarded = new LongAdder();
+
+    public UsernameFilter(Supplier<Stream<String>> usernameScan, boolean enabled) {
+        this.usernameScan = usernameScan;
+        this.enabled = enabled;
+    }
+
+    // True only when no student with this username can exist
+    public boolean isDefinitelyAbsent(String username) {
+        String key = normalize(username);
+        BloomFilter current = key != null ? ensureBuilt() : null;
+        if (current != null && !current.mightContain(BloomFilter.hash64(key))) {
+            answeredLocally.increment();
+            return true;
+        }
+        forwarded.increment();
+        return false;
+    }
+
+    public synchronized void recordAdded(String username) {
+        String key = normalize(username);
+        if (key == null) {
+            return;
+        }
+        if (filter != null) {
+            filter.add(BloomFilter.hash64(key));
+            if (++insertions > capacity) {
+                // Past its sizing the false positive rate climbs; rebuild larger on next use
+                filter = null;
+            }
+        } else if (addedDuringBuild != null) {
+            addedDuringBuild.add(key);
+        }
+    }
+
+    // Bloom filters cannot forget a name; removed names only cost a query until the next rebuild
+    public synchronized void recordRemoved() {
+        if (filter != null && ++removals > capacity / 2) {
+            filter = null;
+        }
+    }
+
+    // Drop the filter after writes it cannot follow; it is rebuilt from the table on next use
+    public synchronized void invalidate() {
+        generation++;
+        filter = null;
+    }
+
+    public synchronized boolean isBuilt() {
+        return filter != null;
+    }
+
+    @Override
+    public String toString() {
+        BloomFilter current;
+        long added;
+        synchronized (this) {
+            current = filter;
+            added = insertions;
+        }
+        String state = current == null ? "not built"
+                : added + " names in " + current.getBitCount() / 8 / 1024 + " KiB, "
+                        + current.getHashCount() + " hashes";
+        return state + "; " + answeredLocally.sum() + " answered locally, " + forwarded.sum() + " sent to the database";
+    }
+
+    private BloomFilter ensureBuilt() {
+        synchronized (this) {
+            if (filter != null || !enabled) {
+                return filter;
+            }
+        }
+        synchronized (buildLock) {
+            long buildGeneration;
+            synchronized (this) {
+                if (filter != null) {
+                    return filter;
+                }
+                buildGeneration = generation;
+                addedDuringBuild = new ArrayList<>();
+            }
+            List<String> keys = scanUsernames();
+            synchronized (this) {
+                List<String> added = addedDuringBuild;
+                addedDuringBuild = null;
+                // A failed scan yields null; an empty table builds an empty filter like any other
+                if (keys == null || generation != buildGeneration) {
+                    return null;
+                }
+                keys.addAll(added);
+                capacity = Math.max(MIN_CAPACITY, keys.size() * 2L);
+                BloomFilter built = BloomFilter.forExpectedInsertions(capacity, FALSE_POSITIVE_RATE);
+                for (String key : keys) {
+                    built.add(BloomFilter.hash64(key));
+                }
+                insertions = keys.size();
+                removals = 0;
+                filter = built;
+                Log.info("Username filter built from " + keys.size() + " students");
+                return built;
+            }
+        }
+    }
+
+    private List<String> scanUsernames() {
+        List<String> keys = new ArrayList<>();
+        try (Stream<String> usernames = usernameScan.get()) {
+            Iterator<String> it = usernames.iterator();
+            while (it.hasNext()) {
+                String key = normalize(it.next());
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+            return keys;
+        } catch (RuntimeException e) {
+            Log.error("[Database Error] Failed to build username filter: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Usernames compare case-insensitively, and with PAD SPACE collations ignoring trailing spaces.
+    // Non-ASCII names may match under accent-insensitive collations too, so they are never
+    // answered locally (null key).
+    static String normalize(String username) {
+        if (username == null) {
+            return null;
+        }
+        int end = username.length();
+        while (end > 0 && username.charAt(end - 1) == ' ') {
+            end--;
+        }
+        StringBuilder key = new StringBuilder(end);
+        for (int i = 0; i < end; i++) {
+            char c = username.charAt(i);
+            if (c > 0x7F) {
+                return null;
+            }
+            key.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        return key.toString();
+    }
+}
@@ -30,6 +30,8 @@ DROP TABLE IF EXISTS student_tags;
 DROP TABLE IF EXISTS group_memberships;
 
 -- Then drop independent tables (those without foreign keys)
+DROP TABLE IF EXISTS id_allocators;
+
 DROP TABLE IF EXISTS tags;
 
 DROP TABLE IF EXISTS posts;
@@ -56,7 +58,7 @@ CREATE TABLE
     student_groups (
         groupID INT PRIMARY KEY, -- Unique identifier for each group
         groupName VARCHAR(100) NOT NULL, -- Name of the group
-        groupSize INT DEFAULT 0, -- Number of members (maintained by triggers/updates)
+        groupSize INT DEFAULT 0, -- Number of active members (maintained by MySQLHandler on membership changes)
         groupDescription TEXT, -- Detailed description of the group
         creationDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP -- When the group was created
     );
@@ -80,6 +82,13 @@ CREATE TABLE
         description TEXT -- Optional description of what the tag means
     );
 
+-- Create the ID allocator table - high-water marks for block-allocated post and group IDs
+CREATE TABLE
+    id_allocators (
+        name VARCHAR(50) PRIMARY KEY, -- Sequence name, e.g. posts or student_groups
+        nextValue INT NOT NULL -- First ID not yet reserved by any app instance
+    );
+
 -- =============================================
 -- Create Junction/Relationship Tables
 -- =============================================
@@ -115,6 +124,11 @@ CREATE TABLE
         FOREIGN KEY (groupID) REFERENCES student_groups (groupID) ON DELETE CASCADE
     );
 
+-- Indexes for paging through a group's posts newest first (keyset on postDate, postID)
+CREATE INDEX idx_posts_postDate ON posts (postDate, postID);
+
+CREATE INDEX idx_post_groups_groupID ON post_groups (groupID, postID);
+
 -- =============================================
 -- Create Social Features Tables
 -- =============================================
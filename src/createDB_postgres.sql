@@ -0,0 +1,182 @@
+-- =============================================
+-- PostgreSQL version of createDB.sql
+-- =============================================
+-- Run against an existing StudentDB database (createdb StudentDB)
+-- PostgreSQL folds unquoted identifiers to lower case, so the queries in MySQLHandler work unchanged
+-- Name columns use citext so lookups by name ignore case, as MySQL's default collation does
+CREATE EXTENSION IF NOT EXISTS citext;
+
+-- =============================================
+-- Drop All Existing Tables
+-- =============================================
+DROP TABLE IF EXISTS bookmarked_posts CASCADE;
+
+DROP TABLE IF EXISTS blocked_users CASCADE;
+
+DROP TABLE IF EXISTS friends CASCADE;
+
+DROP TABLE IF EXISTS friend_requests CASCADE;
+
+DROP TABLE IF EXISTS post_groups CASCADE;
+
+DROP TABLE IF EXISTS student_tags CASCADE;
+
+DROP TABLE IF EXISTS group_memberships CASCADE;
+
+DROP TABLE IF EXISTS id_allocators CASCADE;
+
+DROP TABLE IF EXISTS tags CASCADE;
+
+DROP TABLE IF EXISTS posts CASCADE;
+
+DROP TABLE IF EXISTS student_groups CASCADE;
+
+DROP TABLE IF EXISTS students CASCADE;
+
+-- =============================================
+-- Create Core Tables
+-- =============================================
+CREATE TABLE
+    students (
+        userID SERIAL PRIMARY KEY, -- Unique identifier for each student
+        userName CITEXT NOT NULL, -- Username must be unique
+        password VARCHAR(255) NOT NULL, -- SHA-256 hash is 64 characters
+        userYear VARCHAR(20) NOT NULL, -- Student's academic year
+        isAnonymous BOOLEAN DEFAULT FALSE -- Whether student is in anonymous mode
+    );
+
+CREATE TABLE
+    student_groups (
+        groupID INT PRIMARY KEY, -- Unique identifier for each group
+        groupName CITEXT NOT NULL, -- Name of the group
+        groupSize INT DEFAULT 0, -- Number of active members (maintained by MySQLHandler on membership changes)
+        groupDescription TEXT, -- Detailed description of the group
+        creationDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP -- When the group was created
+    );
+
+CREATE TABLE
+    posts (
+        postID INT PRIMARY KEY, -- Assigned from id_allocators
+        postContent TEXT NOT NULL, -- The actual content of the post
+        postOwner INT REFERENCES students (userID) ON DELETE CASCADE, -- Reference to the student who created it
+        postDate TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, -- When the post was created
+        isAnonymous BOOLEAN DEFAULT FALSE
+    );
+
+CREATE TABLE
+    tags (
+        tagID SERIAL PRIMARY KEY, -- Auto-incrementing tag identifier
+        name CITEXT NOT NULL UNIQUE, -- Tag name must be unique
+        description TEXT -- Optional description of what the tag means
+    );
+
+CREATE TABLE
+    id_allocators (
+        name VARCHAR(50) PRIMARY KEY, -- Sequence name, e.g. posts or student_groups
+        nextValue INT NOT NULL -- First ID not yet reserved by any app instance
+    );
+
+-- =============================================
+-- Create Junction/Relationship Tables
+-- =============================================
+CREATE TABLE
+    group_memberships (
+        groupID INT REFERENCES student_groups (groupID) ON DELETE CASCADE, -- Reference to the group
+        studentID INT REFERENCES students (userID) ON DELETE CASCADE, -- Reference to the student member
+        joinDate TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, -- When they joined
+        endDate DATE, -- When they left (NULL if still active)
+        PRIMARY KEY (groupID, studentID)
+    );
+
+CREATE TABLE
+    student_tags (
+        studentID INT REFERENCES students (userID) ON DELETE CASCADE,
+        tagID INT REFERENCES tags (tagID) ON DELETE CASCADE,
+        PRIMARY KEY (studentID, tagID)
+    );
+
+CREATE TABLE
+    post_groups (
+        postID INT REFERENCES posts (postID) ON DELETE CASCADE,
+        groupID INT REFERENCES student_groups (groupID) ON DELETE CASCADE,
+        PRIMARY KEY (postID, groupID)
+    );
+
+-- Indexes for paging through a group's posts newest first (keyset on postDate, postID)
+CREATE INDEX idx_posts_postDate ON posts (postDate, postID);
+
+CREATE INDEX idx_post_groups_groupID ON post_groups (groupID, postID);
+
+-- =============================================
+-- Create Social Features Tables
+-- =============================================
+CREATE TABLE
+    friend_requests (
+        requestID SERIAL PRIMARY KEY, -- Unique identifier for each request
+        fromUserID INT REFERENCES students (userID) ON DELETE CASCADE, -- Student sending the request
+        toUserID INT REFERENCES students (userID) ON DELETE CASCADE, -- Student receiving the request
+        requestDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP, -- When request was sent
+        status VARCHAR(10) DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'ACCEPTED', 'DECLINED')) -- Request status
+    );
+
+CREATE TABLE
+    friends (
+        userID1 INT REFERENCES students (userID) ON DELETE CASCADE, -- First student in friendship
+        userID2 INT REFERENCES students (userID) ON DELETE CASCADE, -- Second student in friendship
+        friendshipDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP, -- When they became friends
+        PRIMARY KEY (userID1, userID2)
+    );
+
+CREATE TABLE
+    blocked_users (
+        blockerID INT REFERENCES students (userID) ON DELETE CASCADE, -- Student doing the blocking
+        blockedID INT REFERENCES students (userID) ON DELETE CASCADE, -- Student being blocked
+        blockDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP, -- When the block occurred
+        PRIMARY KEY (blockerID, blockedID)
+    );
+
+CREATE TABLE
+    bookmarked_posts (
+        userID INT REFERENCES students (userID) ON DELETE CASCADE, -- Student who bookmarked
+        postID INT REFERENCES posts (postID) ON DELETE CASCADE, -- Post that was bookmarked
+        bookmarkDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP, -- When it was bookmarked
+        PRIMARY KEY (userID, postID)
+    );
+
+-- =============================================
+-- Insert Initial Test Data
+-- =============================================
+INSERT INTO
+    students (userID, userName, password, userYear)
+VALUES
+    (
+        1001,
+        'testuser1',
+        encode(sha256('testuser1'::bytea), 'hex'),
+        'Senior'
+    );
+
+-- Continue numbering after the explicit test user ID, as MySQL AUTO_INCREMENT does
+ALTER SEQUENCE students_userid_seq RESTART WITH 1002;
+
+INSERT INTO
+    student_groups (
+        groupID,
+        groupName,
+        groupDescription,
+        groupSize,
+        creationDate
+    )
+VALUES
+    (1, 'tg1', 'td1', 0, CURRENT_TIMESTAMP);
+
+INSERT INTO
+    student_groups (
+        groupID,
+        groupName,
+        groupDescription,
+        groupSize,
+        creationDate
+    )
+VALUES
+    (2, 'tg2', 'td2', 0, CURRENT_TIMESTAMP);